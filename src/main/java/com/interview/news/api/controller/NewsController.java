@@ -1,19 +1,39 @@
 package com.interview.news.api.controller;
 
+import com.interview.news.api.service.ArticleExporter;
+import com.interview.news.api.service.ArticleStreamBroadcaster;
 import com.interview.news.api.service.NewsService;
+import com.interview.news.domain.model.dto.ArticleCursor;
 import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleFilterDTO;
 import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import com.interview.news.domain.model.dto.ArticleSearchCursor;
+import com.interview.news.domain.model.dto.ArticleSearchHit;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
 import com.interview.news.domain.model.entity.Article;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
+import java.util.Locale;
+import java.util.concurrent.Callable;
 import java.util.logging.Logger;
 
 @RestController
@@ -21,12 +41,19 @@ import java.util.logging.Logger;
 public class NewsController {
 
     private static final Logger LOGGER = Logger.getLogger(NewsController.class.getName());
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     private final NewsService newsService;
+    private final ArticleStreamBroadcaster articleStreamBroadcaster;
+    private final ArticleExporter articleExporter;
 
     @Autowired
-    public NewsController(NewsService newsService) {
+    public NewsController(NewsService newsService, ArticleStreamBroadcaster articleStreamBroadcaster,
+                          ArticleExporter articleExporter) {
         this.newsService = newsService;
+        this.articleStreamBroadcaster = articleStreamBroadcaster;
+        this.articleExporter = articleExporter;
     }
 
     /**
@@ -57,17 +84,238 @@ public class NewsController {
     /**
      * Endpoint that retrieves news articles from the database.
      * Supports optional limit and offset parameters, and results are sorted by date in descending order.
+     * Articles are returned as summaries without description and content; GET /api/news/{id} returns the whole article.
+     * Every full page carries an X-Next-Cursor header; passing it back as the cursor parameter continues
+     * after the last returned article using keyset pagination, so deep pages cost as much as the first one.
+     * Every page carries a weak ETag of its article ids; a matching If-None-Match is answered with 304
+     * after reading only the ids of the page, without loading or serialising the articles.
+     * Optional source, from (inclusive), to (exclusive), category and country parameters filter the articles;
+     * category and country are those of the article's source. A cursor must be used with the same filters.
      * example request: http://localhost:8080/api/news?limit=3&offset=5
+     * example request: http://localhost:8080/api/news?limit=3&cursor=MjAyNC0xMC0yNFQxMDowMDowMFp8NDI
+     * example request: http://localhost:8080/api/news?country=us&category=technology&from=2024-10-01T00:00:00Z
      */
     @GetMapping
-    public ResponseEntity<List<Article>> getNews(
+    public ResponseEntity<?> getNews(
             @RequestParam(defaultValue = "10") int limit,
-            @RequestParam(defaultValue = "0") int offset) {
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String country,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        LOGGER.info(() -> "Starting getNews with limit=" + limit + ", offset=" + offset + ", cursor=" + cursor
+                + ", source=" + source + ", from=" + from + ", to=" + to + ", category=" + category + " and country=" + country);
+
+        try {
+            if (cursor != null && offset != 0) {
+                throw new IllegalArgumentException("Cursor param cannot be mixed with offset");
+            }
+            ArticleFilterDTO filter = new ArticleFilterDTO(source, from, to, category, country);
+            ArticleCursor decodedCursor = cursor != null ? ArticleCursor.decode(cursor) : null;
+            if (ifNoneMatch != null) {
+                String version = decodedCursor != null
+                        ? newsService.getNewsVersion(limit, decodedCursor, filter)
+                        : newsService.getNewsVersion(limit, offset, filter);
+                if (matchesETag(ifNoneMatch, version)) {
+                    LOGGER.info("Completed getNews, page not modified.");
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(weakETag(version)).build();
+                }
+            }
+            List<ArticleSummaryDTO> articles = decodedCursor != null
+                    ? newsService.getNews(limit, decodedCursor, filter)
+                    : newsService.getNews(limit, offset, filter);
+
+            LOGGER.info(() -> "Completed getNews, retrieved " + articles.size() + " articles.");
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(weakETag(NewsService.version(articles)));
+            if (!articles.isEmpty() && articles.size() == limit) {
+                response.header(NEXT_CURSOR_HEADER, ArticleCursor.fromSummary(articles.get(articles.size() - 1)).encode());
+            }
+            return response.body(articles);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Invalid parameters: " + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint that retrieves one stored article with its description and content, which list endpoints leave out.
+     * The response carries an ETag, and an If-None-Match naming it is answered with 304 without reading the database.
+     * A wildcard If-None-Match only gets a 304 when the article exists.
+     * example request: http://localhost:8080/api/news/42
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<Article> getArticle(
+            @PathVariable long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        LOGGER.info(() -> "Starting getArticle with id=" + id);
+        String tag = String.valueOf(id);
+        // Stored articles are never updated or deleted, so the id alone identifies the representation and a client
+        // holding its tag was served an article that still exists; the match needs no database read
+        if (ifNoneMatch != null && ETag.parse(ifNoneMatch).stream().anyMatch(etag -> !etag.isWildcard() && etag.tag().equals(tag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(weakETag(tag)).build();
+        }
+        return newsService.getArticle(id)
+                .map(article -> ifNoneMatch != null && matchesETag(ifNoneMatch, tag)
+                        ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(weakETag(tag)).<Article>build()
+                        : ResponseEntity.ok().eTag(weakETag(tag)).body(article))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint that searches stored articles by keywords in their title, description and content, most relevant first.
+     * Hits are listed as summaries like GET /api/news; GET /api/news/{id} returns the whole article.
+     * The q parameter accepts web search syntax: "quoted phrases", or, and -excluded words.
+     * Every full page carries an X-Next-Cursor header that continues the same search after its last hit.
+     * example request: http://localhost:8080/api/news/search?q=penguins%20-madagascar&limit=5
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchNews(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor) {
+
+        LOGGER.info(() -> "Starting searchNews with q=" + q + ", limit=" + limit + " and cursor=" + cursor);
+
+        try {
+            List<ArticleSearchHit> hits = newsService.searchNews(q, limit,
+                    cursor != null ? ArticleSearchCursor.decode(cursor) : null);
+
+            LOGGER.info(() -> "Completed searchNews, found " + hits.size() + " articles.");
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (!hits.isEmpty() && hits.size() == limit) {
+                response.header(NEXT_CURSOR_HEADER, ArticleSearchCursor.fromHit(hits.get(hits.size() - 1)).encode());
+            }
+            return response.body(hits.stream().map(hit -> ArticleSummaryDTO.fromEntity(hit.article())).toList());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Invalid parameters: " + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint that returns the summaries of the latest articles containing every word of q, newest first.
+     * Recent articles are matched in memory; older ones fall back to the database search.
+     * example request: http://localhost:8080/api/news/search/latest?q=penguins&limit=5
+     */
+    @GetMapping("/search/latest")
+    public ResponseEntity<?> searchLatestNews(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
 
-        LOGGER.info(() -> "Starting getNews with limit=" + limit + " and offset=" + offset);
-        List<Article> articles = newsService.getNews(limit, offset);
+        LOGGER.info(() -> "Starting searchLatestNews with q=" + q + " and limit=" + limit);
+
+        try {
+            List<Article> articles = newsService.searchLatestNews(q, limit);
+            LOGGER.info(() -> "Completed searchLatestNews, found " + articles.size() + " articles.");
+            return ResponseEntity.ok(articles.stream().map(ArticleSummaryDTO::fromEntity).toList());
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Invalid parameters: " + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Endpoint that streams newly saved articles as Server-Sent Events, one "article" event per article with its id as the event id.
+     * A client reconnecting with the Last-Event-ID header first receives the articles saved after that id.
+     * example request: curl -N http://localhost:8080/api/news/stream
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamArticles(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        LOGGER.info(() -> "Starting streamArticles with lastEventId=" + lastEventId);
+        return articleStreamBroadcaster.subscribe(lastEventId);
+    }
+
+    /**
+     * Endpoint that exports stored articles as NDJSON, one article per line, oldest first.
+     * Optional from (inclusive) and to (exclusive) ISO-8601 instants and source name narrow the export.
+     * Rows are streamed from a database cursor, and the body is gzipped when the client accepts it.
+     * Only a few exports run at once; beyond that the request is answered with 503.
+     * example request: curl --compressed "http://localhost:8080/api/news/export?from=2024-10-01T00:00:00Z&source=BBC%20News"
+     */
+    @GetMapping("/export")
+    public ResponseEntity<?> exportArticles(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String source,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            NativeWebRequest request) {
+
+        LOGGER.info(() -> "Starting exportArticles with from=" + from + ", to=" + to + " and source=" + source);
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ArticleExporter.Reservation body;
+        try {
+            body = articleExporter.reserve(from, to, source, gzip);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warning("Invalid parameters: " + e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        /* Gives the export slot back even when the body never runs, e.g. on timeout or an early disconnect. */
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ArticleExporter.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                        body.release();
+                    }
+                });
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /*
+        A coding with q=0 is refused; gzip is also accepted through the * wildcard unless it is listed itself.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].strip().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].strip().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+
+    /*
+        Tomcat refuses to compress a response carrying a strong ETag, since a strong validator promises byte-identical bodies.
+        The tags only identify the JSON content, so they are sent weak and the gzipped and plain bodies share them.
+     */
+    private static String weakETag(String tag) {
+        return "W/\"" + tag + "\"";
+    }
 
-        LOGGER.info(() -> "Completed getNews, retrieved " + articles.size() + " articles.");
-        return ResponseEntity.ok(articles);
+    /* If-None-Match uses the weak comparison, so both weak and strong validators match. */
+    private static boolean matchesETag(String ifNoneMatch, String tag) {
+        return ETag.parse(ifNoneMatch).stream().anyMatch(etag -> etag.isWildcard() || etag.tag().equals(tag));
     }
 }
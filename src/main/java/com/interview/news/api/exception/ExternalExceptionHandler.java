@@ -28,6 +28,11 @@ public class ExternalExceptionHandler {
         return new ResponseEntity<>("Internal server error: " + ex.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(ExternalServiceUnavailableException.class)
+    public ResponseEntity<String> handleServiceUnavailableException(ExternalServiceUnavailableException ex) {
+        return new ResponseEntity<>("Service unavailable: " + ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(ExternalNotFoundException.class)
     public ResponseEntity<String> handleNotFoundException(ExternalNotFoundException ex) {
         return new ResponseEntity<>("Not Found: " + ex.getMessage(), HttpStatus.NOT_FOUND);
@@ -0,0 +1,7 @@
+package com.interview.news.api.exception;
+
+public class ExternalMaximumResultsReachedException extends ExternalBadRequestException {
+    public ExternalMaximumResultsReachedException(String message) {
+        super(message);
+    }
+}
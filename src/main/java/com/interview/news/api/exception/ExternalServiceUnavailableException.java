@@ -0,0 +1,7 @@
+package com.interview.news.api.exception;
+
+public class ExternalServiceUnavailableException extends RuntimeException {
+    public ExternalServiceUnavailableException(String message) {
+        super(message);
+    }
+}
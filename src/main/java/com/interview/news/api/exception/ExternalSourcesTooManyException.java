@@ -0,0 +1,7 @@
+package com.interview.news.api.exception;
+
+public class ExternalSourcesTooManyException extends ExternalBadRequestException {
+    public ExternalSourcesTooManyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,176 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Tells every instance about the articles the others save, through Postgres LISTEN/NOTIFY.
+ * Each local ingest sends the ids of its articles with pg_notify inside the saving transaction,
+ * so the notification is delivered exactly when the articles become visible, and never for a rolled back write.
+ * Every instance listens on a dedicated connection outside the pool, opened with the same connection details as the pool
+ * (including a service connection or Docker Compose), loads the articles of other instances by id
+ * and republishes them as a remote {@link ArticlesIngestedEvent}.
+ * Notifications sent while the connection is down are lost, so every (re)connect and disconnect is published
+ * as an {@link ArticleFeedStatusEvent} for in-memory views to rebuild or stop answering.
+ */
+@Component
+public class ArticleChangeFeed {
+
+    static final String CHANNEL = "article_ingested";
+    private static final Logger LOGGER = Logger.getLogger(ArticleChangeFeed.class.getName());
+    /* Postgres rejects NOTIFY payloads of 8000 bytes or more. */
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+    private final JdbcConnectionDetails connectionDetails;
+    private final JdbcTemplate jdbcTemplate;
+    private final ArticleRepository articleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final Duration reconnectDelay;
+    private volatile boolean running;
+    private boolean connected;
+    private Thread listener;
+
+    public ArticleChangeFeed(JdbcConnectionDetails connectionDetails,
+                             JdbcTemplate jdbcTemplate,
+                             ArticleRepository articleRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             ClusterMembership clusterMembership,
+                             @Value("${news.cluster.change-feed.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.connectionDetails = connectionDetails;
+        this.jdbcTemplate = jdbcTemplate;
+        this.articleRepository = articleRepository;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = clusterMembership.nodeId();
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void notifyOtherInstances(ArticlesIngestedEvent event) {
+        if (event.remote() || event.savedArticles().isEmpty()) {
+            return;
+        }
+        List<Long> ids = event.savedArticles().stream().map(Article::getId).toList();
+        for (String payload : payloads(nodeId, ids)) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform().name("article-change-feed").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            listener.join(POLL_TIMEOUT_MILLIS * 2L);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(connectionDetails.getJdbcUrl(),
+                    connectionDetails.getUsername(), connectionDetails.getPassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                setConnected(true);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                LOGGER.warning(() -> "Article change feed lost, reconnecting in " + reconnectDelay + ": " + e.getMessage());
+                setConnected(false);
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /* A payload that cannot be applied throws, so the feed reconnects and the views rebuild instead of missing articles. */
+    private void receive(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0) {
+            throw new IllegalStateException("Malformed article change notification: " + payload);
+        }
+        if (payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        List<Long> ids = Arrays.stream(payload.substring(separator + 1).split(","))
+                .map(Long::valueOf)
+                .toList();
+        List<Article> articles = articleRepository.findAllById(ids);
+        LOGGER.fine(() -> "Received " + articles.size() + " articles saved by another instance");
+        if (!articles.isEmpty()) {
+            eventPublisher.publishEvent(new ArticlesIngestedEvent(articles, true));
+        }
+    }
+
+    private void setConnected(boolean nowConnected) {
+        if (connected == nowConnected) {
+            return;
+        }
+        connected = nowConnected;
+        LOGGER.info(() -> "Article change feed " + (nowConnected ? "connected" : "disconnected"));
+        eventPublisher.publishEvent(new ArticleFeedStatusEvent(nowConnected));
+    }
+
+    static List<String> payloads(String nodeId, List<Long> ids) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId).append(':');
+        int emptyLength = payload.length();
+        for (Long id : ids) {
+            String idText = String.valueOf(id);
+            if (payload.length() > emptyLength && payload.length() + 1 + idText.length() > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload.setLength(emptyLength);
+            }
+            if (payload.length() > emptyLength) {
+                payload.append(',');
+            }
+            payload.append(idText);
+        }
+        if (payload.length() > emptyLength) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+}
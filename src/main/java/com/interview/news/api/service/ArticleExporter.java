@@ -0,0 +1,162 @@
+package com.interview.news.api.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.interview.news.api.exception.ExternalServiceUnavailableException;
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the article archive as NDJSON, one article per line, straight from a database cursor to the output stream.
+ * Every article is detached once written, so memory stays flat no matter how many rows are exported.
+ * An export holds a pooled connection for as long as the client reads, so only a few may run at once.
+ */
+@Service
+public class ArticleExporter {
+    private static final Logger LOGGER = Logger.getLogger(ArticleExporter.class.getName());
+
+    private final ArticleRepository articleRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter articleWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int flushEvery;
+    private final Semaphore exportPermits;
+
+    public ArticleExporter(ArticleRepository articleRepository,
+                           EntityManager entityManager,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${news.export.flush-every:500}") int flushEvery,
+                           @Value("${news.export.max-concurrent:4}") int maxConcurrentExports) {
+        if (flushEvery < 1) {
+            throw new IllegalArgumentException("Export flush interval must be positive");
+        }
+        if (maxConcurrentExports < 1) {
+            throw new IllegalArgumentException("Maximum concurrent exports must be positive");
+        }
+        this.articleRepository = articleRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.articleWriter = objectMapper.writerFor(Article.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.flushEvery = flushEvery;
+        this.exportPermits = new Semaphore(maxConcurrentExports);
+    }
+
+    /**
+     * Takes one of the concurrent export slots and returns the export as a response body, which gives the slot back
+     * once it has run. Throws {@link ExternalServiceUnavailableException} when every slot is taken.
+     * The body may never run, e.g. when the request times out or the client leaves before the async dispatch,
+     * so the caller also has to release the reservation once the request completes.
+     */
+    public Reservation reserve(Instant from, Instant to, String sourceName, boolean gzip) {
+        checkRange(from, to);
+        if (!exportPermits.tryAcquire()) {
+            throw new ExternalServiceUnavailableException("Too many article exports in progress, please try again later.");
+        }
+        return new Reservation(from, to, sourceName, gzip);
+    }
+
+    /**
+     * Exports the articles published in [from, to) by the given source, oldest first; null filters are ignored.
+     * The output stream is finished but not closed. Returns the number of exported articles.
+     */
+    public long export(Instant from, Instant to, String sourceName, OutputStream out, boolean gzip) {
+        checkRange(from, to);
+        Long exported = readOnlyTransaction.execute(status -> {
+            try (Stream<Article> articles = articleRepository.streamArticles(from, to, sourceName)) {
+                return gzip ? writeGzipped(articles.iterator(), out) : write(articles.iterator(), out);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write article export", e);
+            }
+        });
+        LOGGER.info(() -> "Exported " + exported + " articles, from=" + from + ", to=" + to + ", source=" + sourceName);
+        return exported;
+    }
+
+    private static void checkRange(Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("From param must be before to");
+        }
+    }
+
+    private long writeGzipped(Iterator<Article> articles, OutputStream out) throws IOException {
+        GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+        long exported = write(articles, gzipOut);
+        gzipOut.finish();
+        return exported;
+    }
+
+    private long write(Iterator<Article> articles, OutputStream out) throws IOException {
+        long exported = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (articles.hasNext()) {
+                Article article = articles.next();
+                articleWriter.writeValue(generator, article);
+                generator.writeRaw('\n');
+                entityManager.detach(article);
+                if (++exported % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return exported;
+    }
+
+    /**
+     * A reserved export slot. Running the body or releasing the reservation gives the slot back, whichever comes first;
+     * later releases do nothing.
+     */
+    public final class Reservation implements StreamingResponseBody {
+        private final Instant from;
+        private final Instant to;
+        private final String sourceName;
+        private final boolean gzip;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(Instant from, Instant to, String sourceName, boolean gzip) {
+            this.from = from;
+            this.to = to;
+            this.sourceName = sourceName;
+            this.gzip = gzip;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) {
+            try {
+                export(from, to, sourceName, out, gzip);
+            } finally {
+                release();
+            }
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                exportPermits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.interview.news.api.service;
+
+/**
+ * Published by {@link ArticleChangeFeed} when it starts or stops receiving articles saved by other instances.
+ * While disconnected, in-memory views of the newest articles may miss articles and must not answer on their own;
+ * once connected again they rebuild from the database, since notifications sent meanwhile are lost.
+ */
+public record ArticleFeedStatusEvent(boolean connected) {
+}
@@ -0,0 +1,199 @@
+package com.interview.news.api.service;
+
+import com.interview.news.api.exception.ExternalServiceUnavailableException;
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+/**
+ * Fans committed articles out to Server-Sent Events subscribers. An idle subscriber costs only its emitter and an empty queue:
+ * delivery runs on a virtual thread started when events are queued for it, so a slow client never blocks the ingest path.
+ * A subscriber whose queue overflows is dropped. Subscribers resuming with a last event id first get the articles they missed.
+ * Articles saved by other instances arrive through {@link ArticleChangeFeed}; those committed while the feed is disconnected
+ * are only seen by subscribers that reconnect with their last event id.
+ */
+@Component
+public class ArticleStreamBroadcaster {
+
+    private static final Logger LOGGER = Logger.getLogger(ArticleStreamBroadcaster.class.getName());
+    private static final long HEARTBEAT_ID = -1;
+
+    private final ArticleRepository articleRepository;
+    private final Duration subscriberTimeout;
+    private final int maxSubscribers;
+    private final int subscriberQueueCapacity;
+    private final int maxReplayedArticles;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService delivery = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ArticleStreamBroadcaster(ArticleRepository articleRepository,
+                                    @Value("${news.stream.subscriber-timeout:30m}") Duration subscriberTimeout,
+                                    @Value("${news.stream.max-subscribers:10000}") int maxSubscribers,
+                                    @Value("${news.stream.subscriber-queue-capacity:256}") int subscriberQueueCapacity,
+                                    @Value("${news.stream.max-replayed-articles:1000}") int maxReplayedArticles) {
+        this.articleRepository = articleRepository;
+        this.subscriberTimeout = subscriberTimeout;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberQueueCapacity = subscriberQueueCapacity;
+        this.maxReplayedArticles = maxReplayedArticles;
+    }
+
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(new SseEmitter(subscriberTimeout.toMillis()), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ExternalServiceUnavailableException("Too many article stream subscribers, please try again later.");
+        }
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(subscriberQueueCapacity));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        /* Registered before the replay, so nothing committed meanwhile is lost; the delivery loop skips what the replay already sent. */
+        subscriber.draining.set(true);
+        subscribers.add(subscriber);
+        if (lastEventId != null) {
+            delivery.execute(() -> replay(subscriber, lastEventId));
+        } else {
+            finishDelivery(subscriber);
+        }
+        LOGGER.fine(() -> "Article stream subscribed, " + subscribers.size() + " subscribers");
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesIngested(ArticlesIngestedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        event.savedArticles().stream()
+                .sorted(Comparator.comparing(Article::getId))
+                .forEach(article -> broadcast(new StreamEvent(article.getId(), articleEvent(article))));
+    }
+
+    @Scheduled(fixedDelayString = "${news.stream.heartbeat-interval-ms:30000}")
+    public void sendHeartbeat() {
+        broadcast(new StreamEvent(HEARTBEAT_ID, SseEmitter.event().comment("heartbeat").build()));
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        delivery.shutdownNow();
+    }
+
+    private void broadcast(StreamEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.pending.offer(event)) {
+                LOGGER.warning("Dropping slow article stream subscriber");
+                drop(subscriber);
+                continue;
+            }
+            if (subscriber.draining.compareAndSet(false, true)) {
+                delivery.execute(() -> deliver(subscriber));
+            }
+        }
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        try {
+            Set<Long> replayedIds = new HashSet<>();
+            for (Article article : articleRepository.findArticlesAfterId(lastEventId, maxReplayedArticles)) {
+                send(subscriber, new StreamEvent(article.getId(), articleEvent(article)));
+                replayedIds.add(article.getId());
+            }
+            subscriber.replayedIds = replayedIds;
+            deliver(subscriber);
+            subscriber.replayedIds = Set.of();
+        } catch (RuntimeException e) {
+            LOGGER.warning(() -> "Failed to replay articles after " + lastEventId + ": " + e.getMessage());
+            drop(subscriber);
+        }
+    }
+
+    private void deliver(Subscriber subscriber) {
+        StreamEvent event;
+        while ((event = subscriber.pending.poll()) != null) {
+            if (!subscriber.replayedIds.contains(event.articleId())) {
+                send(subscriber, event);
+            }
+        }
+        finishDelivery(subscriber);
+    }
+
+    /* Re-checks the queue after releasing the flag, so an event queued meanwhile is not left behind. */
+    private void finishDelivery(Subscriber subscriber) {
+        subscriber.draining.set(false);
+        if (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            delivery.execute(() -> deliver(subscriber));
+        }
+    }
+
+    private void send(Subscriber subscriber, StreamEvent event) {
+        if (!subscribers.contains(subscriber)) {
+            return;
+        }
+        try {
+            subscriber.emitter.send(event.data());
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.fine(() -> "Article stream subscriber disconnected: " + e.getMessage());
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.pending.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static Set<DataWithMediaType> articleEvent(Article article) {
+        return SseEmitter.event()
+                .id(String.valueOf(article.getId()))
+                .name("article")
+                .data(article, MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private record StreamEvent(long articleId, Set<DataWithMediaType> data) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<StreamEvent> pending;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile Set<Long> replayedIds = Set.of();
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<StreamEvent> pending) {
+            this.emitter = emitter;
+            this.pending = pending;
+        }
+    }
+}
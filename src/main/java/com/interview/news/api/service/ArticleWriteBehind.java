@@ -0,0 +1,221 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind stage of source ingestion. Fetchers submit decoded articles to a bounded queue and a single writer
+ * drains it into one insertIfAbsent transaction once a batch is full or the oldest submission waited for the linger time.
+ * A full queue blocks submitting fetchers, which is the backpressure towards the upstream side.
+ * When a batch fails, its submissions are retried in a transaction each, so only the failing ones are reported as failed.
+ */
+@Component
+public class ArticleWriteBehind {
+
+    private static final Logger LOGGER = Logger.getLogger(ArticleWriteBehind.class.getName());
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int batchSize;
+    private final Duration linger;
+    private final Duration offerTimeout;
+    private final AtomicInteger queuedArticles = new AtomicInteger();
+    private final DistributionSummary batchSizes;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ArticleWriteBehind(ArticleRepository articleRepository,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${news.ingest.write-behind.queue-capacity:256}") int queueCapacity,
+                              @Value("${news.ingest.write-behind.batch-size:1000}") int batchSize,
+                              @Value("${news.ingest.write-behind.linger:200ms}") Duration linger,
+                              @Value("${news.ingest.write-behind.offer-timeout:30s}") Duration offerTimeout) {
+        this.articleRepository = articleRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.linger = linger;
+        this.offerTimeout = offerTimeout;
+        Gauge.builder("news.ingest.write_behind.queue.depth", queue, BlockingQueue::size)
+                .description("Submissions waiting for the article writer")
+                .register(meterRegistry);
+        Gauge.builder("news.ingest.write_behind.queued.articles", queuedArticles, AtomicInteger::get)
+                .description("Articles waiting for the article writer")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("news.ingest.write_behind.batch.size")
+                .description("Articles written per write-behind transaction")
+                .register(meterRegistry);
+        this.writer = Thread.ofPlatform().name("article-writer").daemon().start(this::drain);
+    }
+
+    /**
+     * Queues the articles for the next batch. The future completes with the articles that were new
+     * once the batch transaction commits, or exceptionally when it fails or the writer shuts down first.
+     */
+    public CompletableFuture<List<Article>> submit(List<Article> articles) {
+        return submit(articles, () -> {
+        });
+    }
+
+    /**
+     * Like {@link #submit(List)}, also running the given work inside the batch transaction after the articles are inserted,
+     * so it commits or rolls back together with them. Nothing runs for an empty list.
+     */
+    public CompletableFuture<List<Article>> submit(List<Article> articles, Runnable inTransaction) {
+        if (articles.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        PendingWrite pendingWrite = new PendingWrite(articles, inTransaction, new CompletableFuture<>());
+        try {
+            if (!running || !queue.offer(pendingWrite, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Article write-behind queue is full, giving up after " + offerTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing articles for writing", e);
+        }
+        queuedArticles.addAndGet(articles.size());
+        /* A submission racing with shutdown may land after the writer's last drain and is failed here instead of never completing. */
+        if (!running && !writer.isAlive()) {
+            failPending(new IllegalStateException("Article writer has shut down"));
+        }
+        return pendingWrite.saved();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        failPending(new IllegalStateException("Article writer shut down before writing the submission"));
+    }
+
+    private void drain() {
+        try {
+            while (running || !queue.isEmpty()) {
+                List<PendingWrite> batch = new ArrayList<>();
+                try {
+                    collectBatch(batch);
+                } catch (InterruptedException e) {
+                    queue.drainTo(batch);
+                }
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+            }
+        } catch (Throwable e) {
+            running = false;
+            LOGGER.severe(() -> "Article writer died: " + e);
+            failPending(e);
+            throw e;
+        }
+    }
+
+    private void failPending(Throwable cause) {
+        List<PendingWrite> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(pendingWrite -> {
+            queuedArticles.addAndGet(-pendingWrite.articles().size());
+            pendingWrite.saved().completeExceptionally(cause);
+        });
+    }
+
+    private void collectBatch(List<PendingWrite> batch) throws InterruptedException {
+        PendingWrite first = queue.take();
+        batch.add(first);
+        int articles = first.articles().size();
+        long deadline = System.nanoTime() + linger.toNanos();
+
+        while (articles < batchSize) {
+            PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            articles += next.articles().size();
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        int articles = batch.stream().mapToInt(pendingWrite -> pendingWrite.articles().size()).sum();
+        queuedArticles.addAndGet(-articles);
+        batchSizes.record(articles);
+
+        try {
+            commit(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                LOGGER.warning(() -> "Failed to write submission of " + articles + " articles: " + e.getMessage());
+                batch.getFirst().saved().completeExceptionally(e);
+                return;
+            }
+            /* One bad submission must not take the articles and watermarks of the others down with it. */
+            LOGGER.warning(() -> "Failed to write batch of " + articles + " articles, retrying its "
+                    + batch.size() + " submissions one by one: " + e.getMessage());
+            batch.forEach(pendingWrite -> {
+                try {
+                    commit(List.of(pendingWrite));
+                } catch (RuntimeException single) {
+                    LOGGER.warning(() -> "Failed to write submission of " + pendingWrite.articles().size()
+                            + " articles: " + single.getMessage());
+                    pendingWrite.saved().completeExceptionally(single);
+                }
+            });
+        } catch (Error e) {
+            batch.forEach(pendingWrite -> pendingWrite.saved().completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    /* Writes the submissions in one transaction and completes their futures once it commits. */
+    private void commit(List<PendingWrite> submissions) {
+        List<Article> articles = submissions.stream()
+                .flatMap(pendingWrite -> pendingWrite.articles().stream())
+                .toList();
+        List<Article> saved = transactionTemplate.execute(status -> {
+            List<Article> inserted = articleRepository.insertIfAbsent(articles);
+            submissions.forEach(pendingWrite -> pendingWrite.inTransaction().run());
+            if (!inserted.isEmpty()) {
+                eventPublisher.publishEvent(new ArticlesIngestedEvent(inserted));
+            }
+            return inserted;
+        });
+        LOGGER.fine(() -> "Wrote batch of " + articles.size() + " articles from " + submissions.size() + " submissions, "
+                + saved.size() + " were new");
+
+        Set<Article> savedArticles = Collections.newSetFromMap(new IdentityHashMap<>());
+        savedArticles.addAll(saved);
+        submissions.forEach(pendingWrite -> pendingWrite.saved().complete(pendingWrite.articles().stream()
+                .filter(savedArticles::contains)
+                .toList()));
+    }
+
+    private record PendingWrite(List<Article> articles, Runnable inTransaction, CompletableFuture<List<Article>> saved) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.entity.Article;
+
+import java.util.List;
+
+/**
+ * Published when an ingest saves new articles; listeners see it once the saving transaction commits.
+ * Articles saved by another instance arrive through {@link ArticleChangeFeed} as a remote event, outside any transaction.
+ */
+public record ArticlesIngestedEvent(List<Article> savedArticles, boolean remote) {
+
+    public ArticlesIngestedEvent(List<Article> savedArticles) {
+        this(savedArticles, false);
+    }
+}
@@ -0,0 +1,125 @@
+package com.interview.news.api.service;
+
+import com.interview.news.persistance.ClusterNodeRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Splits scheduled refresh work between the running instances, which register themselves in the cluster_node table
+ * and count as alive while their heartbeat is younger than the node TTL.
+ * Every source is owned by exactly one live node, picked by rendezvous hashing, so when a node joins or dies
+ * only the sources it gains or owned move, and the others stay with their node.
+ * Nodes may see a membership change a few seconds apart; a source refreshed twice around such a change
+ * is harmless because articles are only inserted when absent.
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger LOGGER = Logger.getLogger(ClusterMembership.class.getName());
+
+    private final ClusterNodeRepository clusterNodeRepository;
+    private final String nodeId;
+    private final double nodeTtlSeconds;
+    private volatile int liveNodeCount = 1;
+
+    public ClusterMembership(ClusterNodeRepository clusterNodeRepository,
+                             @Value("${news.cluster.node-id:}") String nodeId,
+                             @Value("${news.cluster.node-ttl:30s}") Duration nodeTtl) {
+        if (nodeTtl.isNegative() || nodeTtl.isZero()) {
+            throw new IllegalArgumentException("Cluster node TTL must be positive");
+        }
+        this.clusterNodeRepository = clusterNodeRepository;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.nodeTtlSeconds = nodeTtl.toMillis() / 1000.0;
+    }
+
+    /**
+     * Fires once the scheduler starts and then every interval, which has to stay well below the node TTL.
+     * Boot schedules on a single thread by default, where a refresh stuck behind the rate limiter or a slow upstream
+     * would hold the heartbeat back until the node expires and its sources move; spring.task.scheduling.pool.size
+     * gives each of the four scheduled tasks its own thread.
+     */
+    @Scheduled(fixedDelayString = "${news.cluster.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        clusterNodeRepository.heartbeat(nodeId);
+        int expired = clusterNodeRepository.deleteExpired(nodeTtlSeconds);
+        if (expired > 0) {
+            LOGGER.info(() -> "Removed " + expired + " cluster nodes with expired heartbeats");
+        }
+        liveNodeCount = Math.max(1, clusterNodeRepository.findLiveNodeIds(nodeTtlSeconds).size());
+    }
+
+    /**
+     * Returns the given sources owned by this node, in their original order.
+     * A node whose own heartbeat has expired owns nothing, as the others have already taken over its sources.
+     */
+    public List<String> ownedSources(List<String> sourceIds) {
+        List<String> liveNodeIds = clusterNodeRepository.findLiveNodeIds(nodeTtlSeconds);
+        liveNodeCount = Math.max(1, liveNodeIds.size());
+        if (!liveNodeIds.contains(nodeId)) {
+            LOGGER.warning(() -> "Cluster node " + nodeId + " is not registered as alive, skipping its sources");
+            return List.of();
+        }
+        return sourceIds.stream()
+                .filter(sourceId -> nodeId.equals(owner(sourceId, liveNodeIds)))
+                .toList();
+    }
+
+    /**
+     * The live node with the lowest id leads, running the work that must happen once per cluster.
+     */
+    public boolean isLeader() {
+        List<String> liveNodeIds = clusterNodeRepository.findLiveNodeIds(nodeTtlSeconds);
+        return !liveNodeIds.isEmpty() && liveNodeIds.getFirst().equals(nodeId);
+    }
+
+    /**
+     * The number of live nodes seen at the last heartbeat or ownership check, never less than one.
+     */
+    public int liveNodeCount() {
+        return liveNodeCount;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Leaving on shutdown hands the sources of this node over at the next refresh instead of after the TTL.
+     */
+    @PreDestroy
+    public void leave() {
+        clusterNodeRepository.deleteById(nodeId);
+    }
+
+    static String owner(String sourceId, List<String> nodeIds) {
+        String owner = null;
+        long highestWeight = Long.MIN_VALUE;
+        for (String candidate : nodeIds) {
+            long weight = weight(candidate, sourceId);
+            if (owner == null || weight > highestWeight || (weight == highestWeight && candidate.compareTo(owner) < 0)) {
+                owner = candidate;
+                highestWeight = weight;
+            }
+        }
+        return owner;
+    }
+
+    /* MurmurHash3 finalizer over both hashes; String.hashCode alone is too regular for ids sharing a prefix. */
+    private static long weight(String nodeId, String sourceId) {
+        long hash = ((long) nodeId.hashCode() << 32) ^ (sourceId.hashCode() & 0xffffffffL);
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
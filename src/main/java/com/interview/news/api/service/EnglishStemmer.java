@@ -0,0 +1,256 @@
+package com.interview.news.api.service;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The Snowball English (Porter2) stemmer and stopword list behind the Postgres 'english' text search configuration,
+ * so in-memory search reduces words to the same lexemes as plainto_tsquery('english', ...) and the search_vector column.
+ * It only takes lowercase ASCII words; everything else is left to the database.
+ */
+final class EnglishStemmer {
+
+    /* The english.stop file of Postgres. */
+    static final Set<String> STOPWORDS = Set.of(
+            "i", "me", "my", "myself", "we", "our", "ours", "ourselves", "you", "your", "yours", "yourself", "yourselves",
+            "he", "him", "his", "himself", "she", "her", "hers", "herself", "it", "its", "itself", "they", "them", "their",
+            "theirs", "themselves", "what", "which", "who", "whom", "this", "that", "these", "those", "am", "is", "are",
+            "was", "were", "be", "been", "being", "have", "has", "had", "having", "do", "does", "did", "doing", "a", "an",
+            "the", "and", "but", "if", "or", "because", "as", "until", "while", "of", "at", "by", "for", "with", "about",
+            "against", "between", "into", "through", "during", "before", "after", "above", "below", "to", "from", "up",
+            "down", "in", "out", "on", "off", "over", "under", "again", "further", "then", "once", "here", "there", "when",
+            "where", "why", "how", "all", "any", "both", "each", "few", "more", "most", "other", "some", "such", "no", "nor",
+            "not", "only", "own", "same", "so", "than", "too", "very", "s", "t", "can", "will", "just", "don", "should", "now");
+
+    private static final Map<String, String> EXCEPTIONS = Map.ofEntries(
+            Map.entry("skis", "ski"), Map.entry("skies", "sky"), Map.entry("sky", "sky"),
+            Map.entry("dying", "die"), Map.entry("lying", "lie"), Map.entry("tying", "tie"),
+            Map.entry("idly", "idl"), Map.entry("gently", "gentl"), Map.entry("ugly", "ugli"), Map.entry("early", "earli"),
+            Map.entry("only", "onli"), Map.entry("singly", "singl"),
+            Map.entry("news", "news"), Map.entry("howe", "howe"), Map.entry("atlas", "atlas"), Map.entry("cosmos", "cosmos"),
+            Map.entry("bias", "bias"), Map.entry("andes", "andes"));
+    private static final Set<String> EXCEPTIONS_AFTER_STEP_1A = Set.of(
+            "inning", "outing", "canning", "herring", "earring", "proceed", "exceed", "succeed");
+    private static final String[] R1_PREFIXES = {"gener", "commun", "arsen"};
+
+    private static final String[] STEP_2_SUFFIXES = {"ization", "ational", "fulness", "ousness", "iveness", "tional",
+            "biliti", "lessli", "entli", "ation", "alism", "aliti", "ousli", "iviti", "fulli", "enci", "anci", "abli",
+            "izer", "ator", "alli", "bli", "ogi", "li"};
+    private static final String[] STEP_2_REPLACEMENTS = {"ize", "ate", "ful", "ous", "ive", "tion",
+            "ble", "less", "ent", "ate", "al", "al", "ous", "ive", "ful", "ence", "ance", "able",
+            "ize", "ate", "al", "ble", "og", ""};
+    private static final String[] STEP_3_SUFFIXES = {"ational", "tional", "alize", "icate", "iciti", "ative", "ical",
+            "ness", "ful"};
+    private static final String[] STEP_3_REPLACEMENTS = {"ate", "tion", "al", "ic", "ic", "", "ic", "", ""};
+    private static final String[] STEP_4_SUFFIXES = {"ement", "ance", "ence", "able", "ible", "ment", "ant", "ent",
+            "ism", "ate", "iti", "ous", "ive", "ize", "ion", "al", "er", "ic"};
+
+    private EnglishStemmer() {
+    }
+
+    static String stem(String word) {
+        if (word.length() <= 2) {
+            return word;
+        }
+        String exception = EXCEPTIONS.get(word);
+        if (exception != null) {
+            return exception;
+        }
+        Word w = new Word(word);
+        w.step1a();
+        if (EXCEPTIONS_AFTER_STEP_1A.contains(w.toString())) {
+            return w.toString();
+        }
+        w.step1b();
+        w.step1c();
+        w.step2();
+        w.step3();
+        w.step4();
+        w.step5();
+        return w.toString().replace('Y', 'y');
+    }
+
+    private static final class Word {
+        private final StringBuilder b;
+        private final int r1;
+        private final int r2;
+
+        Word(String word) {
+            b = new StringBuilder(word);
+            for (int i = 0; i < b.length(); i++) {
+                if (b.charAt(i) == 'y' && (i == 0 || isVowel(b.charAt(i - 1)))) {
+                    b.setCharAt(i, 'Y');
+                }
+            }
+            int start = -1;
+            for (String prefix : R1_PREFIXES) {
+                if (word.startsWith(prefix)) {
+                    start = prefix.length();
+                }
+            }
+            r1 = start >= 0 ? start : regionAfter(0);
+            r2 = regionAfter(r1);
+        }
+
+        /* The position after the first non-vowel following a vowel at or after from, or the length when there is none. */
+        private int regionAfter(int from) {
+            for (int i = from + 1; i < b.length(); i++) {
+                if (!isVowel(b.charAt(i)) && isVowel(b.charAt(i - 1))) {
+                    return i + 1;
+                }
+            }
+            return b.length();
+        }
+
+        void step1a() {
+            if (endsWith("sses")) {
+                replaceEnd(4, "ss");
+            } else if (endsWith("ied") || endsWith("ies")) {
+                replaceEnd(3, b.length() > 4 ? "i" : "ie");
+            } else if (endsWith("us") || endsWith("ss")) {
+                return;
+            } else if (endsWith("s") && hasVowelBefore(b.length() - 2)) {
+                replaceEnd(1, "");
+            }
+        }
+
+        void step1b() {
+            int length = b.length();
+            if (endsWith("eedly") || endsWith("eed")) {
+                int suffix = endsWith("eedly") ? 5 : 3;
+                if (length - suffix >= r1) {
+                    replaceEnd(suffix, "ee");
+                }
+                return;
+            }
+            int suffix = endsWith("ingly") ? 5 : endsWith("edly") ? 4 : endsWith("ing") ? 3 : endsWith("ed") ? 2 : 0;
+            if (suffix == 0 || !hasVowelBefore(length - suffix)) {
+                return;
+            }
+            replaceEnd(suffix, "");
+            if (endsWith("at") || endsWith("bl") || endsWith("iz")) {
+                b.append('e');
+            } else if (endsWithDouble()) {
+                b.setLength(b.length() - 1);
+            } else if (r1 >= b.length() && endsWithShortSyllable(b.length())) {
+                b.append('e');
+            }
+        }
+
+        void step1c() {
+            int last = b.length() - 1;
+            if (last > 1 && (b.charAt(last) == 'y' || b.charAt(last) == 'Y') && !isVowel(b.charAt(last - 1))) {
+                b.setCharAt(last, 'i');
+            }
+        }
+
+        void step2() {
+            int found = longestSuffix(STEP_2_SUFFIXES);
+            if (found < 0 || b.length() - STEP_2_SUFFIXES[found].length() < r1) {
+                return;
+            }
+            String suffix = STEP_2_SUFFIXES[found];
+            int before = b.length() - suffix.length() - 1;
+            if (suffix.equals("ogi") && (before < 0 || b.charAt(before) != 'l')) {
+                return;
+            }
+            if (suffix.equals("li") && (before < 0 || "cdeghkmnrt".indexOf(b.charAt(before)) < 0)) {
+                return;
+            }
+            replaceEnd(suffix.length(), STEP_2_REPLACEMENTS[found]);
+        }
+
+        void step3() {
+            int found = longestSuffix(STEP_3_SUFFIXES);
+            if (found < 0) {
+                return;
+            }
+            int start = b.length() - STEP_3_SUFFIXES[found].length();
+            if (start < r1 || (STEP_3_SUFFIXES[found].equals("ative") && start < r2)) {
+                return;
+            }
+            replaceEnd(STEP_3_SUFFIXES[found].length(), STEP_3_REPLACEMENTS[found]);
+        }
+
+        void step4() {
+            int found = longestSuffix(STEP_4_SUFFIXES);
+            if (found < 0) {
+                return;
+            }
+            int start = b.length() - STEP_4_SUFFIXES[found].length();
+            if (start < r2) {
+                return;
+            }
+            if (STEP_4_SUFFIXES[found].equals("ion") && (start == 0 || "st".indexOf(b.charAt(start - 1)) < 0)) {
+                return;
+            }
+            b.setLength(start);
+        }
+
+        void step5() {
+            int last = b.length() - 1;
+            if (b.charAt(last) == 'e') {
+                if (last >= r2 || (last >= r1 && !endsWithShortSyllable(last))) {
+                    b.setLength(last);
+                }
+            } else if (b.charAt(last) == 'l' && last >= r2 && last > 0 && b.charAt(last - 1) == 'l') {
+                b.setLength(last);
+            }
+        }
+
+        private int longestSuffix(String[] suffixes) {
+            int found = -1;
+            for (int i = 0; i < suffixes.length; i++) {
+                if (endsWith(suffixes[i]) && (found < 0 || suffixes[i].length() > suffixes[found].length())) {
+                    found = i;
+                }
+            }
+            return found;
+        }
+
+        /* Whether b[0, end) ends in a short syllable. */
+        private boolean endsWithShortSyllable(int end) {
+            if (end == 2) {
+                return isVowel(b.charAt(0)) && !isVowel(b.charAt(1));
+            }
+            if (end < 3) {
+                return false;
+            }
+            char last = b.charAt(end - 1);
+            return !isVowel(last) && last != 'w' && last != 'x' && last != 'Y'
+                    && isVowel(b.charAt(end - 2)) && !isVowel(b.charAt(end - 3));
+        }
+
+        private boolean endsWithDouble() {
+            int length = b.length();
+            return length >= 2 && b.charAt(length - 1) == b.charAt(length - 2) && "bdfgmnprt".indexOf(b.charAt(length - 1)) >= 0;
+        }
+
+        private boolean hasVowelBefore(int end) {
+            for (int i = 0; i < end; i++) {
+                if (isVowel(b.charAt(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean endsWith(String suffix) {
+            int start = b.length() - suffix.length();
+            return start >= 0 && b.indexOf(suffix, start) == start;
+        }
+
+        private void replaceEnd(int suffixLength, String replacement) {
+            b.replace(b.length() - suffixLength, b.length(), replacement);
+        }
+
+        private static boolean isVowel(char c) {
+            return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u' || c == 'y';
+        }
+
+        @Override
+        public String toString() {
+            return b.toString();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Remembers what the previous top-headlines response looked like, so an unchanged payload can skip the pipeline.
+ * Keeps the ETag/Last-Modified validators per request URL for conditional requests, and a fingerprint of the
+ * article URL list per request params for upstreams that ignore conditional headers.
+ * Both are remembered only after the surrounding transaction commits, or after a deferred fetch is acknowledged,
+ * so a failed write is retried on the next fetch.
+ */
+@Component
+public class HeadlinesChangeTracker {
+
+    private final ThreadLocal<List<Runnable>> deferredRemembers = new ThreadLocal<>();
+    private final Map<String, Validators> validatorsByUrl;
+    private final Map<ArticleParamsDTO, String> fingerprintsByParams;
+    private final Counter notModifiedResponses;
+    private final Counter unchangedResponses;
+    private final Counter changedResponses;
+
+    public HeadlinesChangeTracker(MeterRegistry meterRegistry,
+                                  @Value("${news.api.change-tracking.max-entries:1024}") int maxEntries) {
+        this.validatorsByUrl = boundedMap(maxEntries);
+        this.fingerprintsByParams = boundedMap(maxEntries);
+        this.notModifiedResponses = responseCounter(meterRegistry, "not_modified");
+        this.unchangedResponses = responseCounter(meterRegistry, "unchanged_fingerprint");
+        this.changedResponses = responseCounter(meterRegistry, "changed");
+        Gauge.builder("news.api.headlines.skip.ratio", this, HeadlinesChangeTracker::skipRatio)
+                .description("Share of top-headlines responses that skipped the ingest pipeline")
+                .register(meterRegistry);
+    }
+
+    public void applyConditionalHeaders(String requestUrl, HttpHeaders requestHeaders) {
+        Validators validators = validatorsByUrl.get(requestUrl);
+        if (validators == null) {
+            return;
+        }
+        if (validators.eTag() != null) {
+            requestHeaders.setIfNoneMatch(validators.eTag());
+        }
+        if (validators.lastModified() != null) {
+            requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, validators.lastModified());
+        }
+    }
+
+    public void recordNotModified() {
+        notModifiedResponses.increment();
+    }
+
+    /**
+     * Returns true and counts the response as skipped when its article URLs match the previous response for the params.
+     */
+    public boolean isUnchanged(ArticleParamsDTO params, String fingerprint) {
+        if (fingerprint.equals(fingerprintsByParams.get(params))) {
+            unchangedResponses.increment();
+            return true;
+        }
+        changedResponses.increment();
+        return false;
+    }
+
+    public void rememberResponse(String requestUrl, HttpHeaders responseHeaders, ArticleParamsDTO params, String fingerprint) {
+        Validators validators = new Validators(responseHeaders.getETag(), responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED));
+        Runnable remember = () -> {
+            if (validators.eTag() != null || validators.lastModified() != null) {
+                validatorsByUrl.put(requestUrl, validators);
+            }
+            fingerprintsByParams.put(params, fingerprint);
+        };
+
+        List<Runnable> deferred = deferredRemembers.get();
+        if (deferred != null) {
+            deferred.add(remember);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember.run();
+                }
+            });
+        } else {
+            remember.run();
+        }
+    }
+
+    /**
+     * Runs a fetch outside any transaction while holding back what it would remember.
+     * The caller acknowledges the returned fetch once its articles are safely written.
+     */
+    public <T> DeferredFetch<T> deferRemembering(Supplier<T> fetch) {
+        List<Runnable> deferred = new ArrayList<>();
+        List<Runnable> outer = deferredRemembers.get();
+        deferredRemembers.set(deferred);
+        try {
+            return new DeferredFetch<>(fetch.get(), () -> deferred.forEach(Runnable::run));
+        } finally {
+            if (outer == null) {
+                deferredRemembers.remove();
+            } else {
+                deferredRemembers.set(outer);
+            }
+        }
+    }
+
+    public static String fingerprint(List<String> articleUrls) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String url : articleUrls) {
+                digest.update(String.valueOf(url).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private double skipRatio() {
+        double skipped = notModifiedResponses.count() + unchangedResponses.count();
+        double total = skipped + changedResponses.count();
+        return total == 0 ? 0 : skipped / total;
+    }
+
+    private static Counter responseCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("news.api.headlines.responses")
+                .description("Top-headlines responses by change detection outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static <K, V> Map<K, V> boundedMap(int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public record DeferredFetch<T>(T result, Runnable acknowledge) {
+    }
+
+    private record Validators(String eTag, String lastModified) {
+    }
+}
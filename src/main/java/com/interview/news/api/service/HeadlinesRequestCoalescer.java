@@ -0,0 +1,91 @@
+package com.interview.news.api.service;
+
+import com.interview.news.api.exception.ExternalServiceUnavailableException;
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Collapses concurrent headline fetches for the same normalised params into a single flight.
+ * The first caller runs the fetch and save, later callers wait for its result instead of calling the upstream again.
+ */
+@Component
+public class HeadlinesRequestCoalescer {
+
+    private static final Logger LOGGER = Logger.getLogger(HeadlinesRequestCoalescer.class.getName());
+
+    private final Map<ArticleParamsDTO, CompletableFuture<List<ArticleDTO>>> inFlight = new ConcurrentHashMap<>();
+    private final Duration waitTimeout;
+    private final Counter leaderCalls;
+    private final Counter collapsedCalls;
+    private final Counter timedOutCalls;
+
+    public HeadlinesRequestCoalescer(MeterRegistry meterRegistry,
+                                     @Value("${news.headlines.coalescing.wait-timeout:15s}") Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+        this.leaderCalls = callCounter(meterRegistry, "leader");
+        this.collapsedCalls = callCounter(meterRegistry, "collapsed");
+        this.timedOutCalls = callCounter(meterRegistry, "timed_out");
+    }
+
+    public List<ArticleDTO> coalesce(ArticleParamsDTO params, Supplier<List<ArticleDTO>> fetch) {
+        CompletableFuture<List<ArticleDTO>> flight = new CompletableFuture<>();
+        CompletableFuture<List<ArticleDTO>> existing = inFlight.putIfAbsent(params, flight);
+        if (existing != null) {
+            collapsedCalls.increment();
+            LOGGER.fine(() -> "Joining in-flight headlines fetch for " + params);
+            return await(params, existing);
+        }
+
+        leaderCalls.increment();
+        try {
+            List<ArticleDTO> result = fetch.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(params, flight);
+        }
+    }
+
+    private List<ArticleDTO> await(ArticleParamsDTO params, CompletableFuture<List<ArticleDTO>> flight) {
+        try {
+            return flight.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timedOutCalls.increment();
+            LOGGER.warning(() -> "Timed out after " + waitTimeout + " waiting for in-flight headlines fetch for " + params);
+            throw new ExternalServiceUnavailableException("Headlines fetch is still in progress, please try again later.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Headlines fetch failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight headlines fetch", e);
+        }
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("news.headlines.fetch.calls")
+                .description("Headline fetch calls by single-flight role")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
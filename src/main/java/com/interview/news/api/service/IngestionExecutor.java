@@ -0,0 +1,92 @@
+package com.interview.news.api.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Runs ingestion work on virtual threads, so refresh throughput follows upstream latency instead of core count.
+ * Concurrency is bounded separately for scheduled upstream calls and for database writes.
+ */
+@Component
+public class IngestionExecutor {
+
+    private static final Logger LOGGER = Logger.getLogger(IngestionExecutor.class.getName());
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore upstreamPermits;
+    private final Semaphore databaseWritePermits;
+
+    public IngestionExecutor(@Value("${news.ingest.max-in-flight-requests:16}") int maxInFlightRequests,
+                             @Value("${news.ingest.max-concurrent-writes:4}") int maxConcurrentWrites) {
+        this.upstreamPermits = new Semaphore(maxInFlightRequests, true);
+        this.databaseWritePermits = new Semaphore(maxConcurrentWrites, true);
+    }
+
+    /**
+     * Runs every task on its own virtual thread and waits until all of them finish.
+     * A failing task is logged and does not stop the remaining ones.
+     */
+    public void runAll(List<Runnable> tasks) {
+        List<Callable<Void>> callables = tasks.stream()
+                .<Callable<Void>>map(task -> () -> {
+                    task.run();
+                    return null;
+                })
+                .toList();
+
+        try {
+            for (Future<Void> future : executor.invokeAll(callables)) {
+                logFailure(future);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for ingestion tasks", e);
+        }
+    }
+
+    public <T> T callUpstream(Supplier<T> call) {
+        return withPermit(upstreamPermits, call);
+    }
+
+    public <T> T writeToDatabase(Supplier<T> write) {
+        return withPermit(databaseWritePermits, write);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T withPermit(Semaphore permits, Supplier<T> action) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an ingestion permit", e);
+        }
+        try {
+            return action.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void logFailure(Future<Void> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            LOGGER.warning(() -> "Ingestion task failed: " + e.getCause().getMessage());
+        }
+    }
+}
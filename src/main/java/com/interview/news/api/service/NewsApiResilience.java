@@ -0,0 +1,44 @@
+package com.interview.news.api.service;
+
+import com.interview.news.api.exception.ExternalServiceUnavailableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Wraps News API calls in the "newsApi" retry and circuit breaker configured under resilience4j.*.
+ * Every retry attempt passes through the breaker, so a failing upstream opens it quickly,
+ * and an open breaker fails fast with {@link ExternalServiceUnavailableException} instead of being retried.
+ */
+@Component
+public class NewsApiResilience {
+
+    static final String INSTANCE_NAME = "newsApi";
+    private static final Logger LOGGER = Logger.getLogger(NewsApiResilience.class.getName());
+
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+
+    public NewsApiResilience(CircuitBreakerRegistry circuitBreakerRegistry, RetryRegistry retryRegistry) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(INSTANCE_NAME);
+        this.retry = retryRegistry.retry(INSTANCE_NAME);
+        this.retry.getEventPublisher().onRetry(event -> LOGGER.warning(() -> "Retrying News API call, attempt "
+                + event.getNumberOfRetryAttempts() + " failed with: " + event.getLastThrowable().getMessage()));
+    }
+
+    public <T> T call(Supplier<T> call) {
+        Supplier<T> guarded = Retry.decorateSupplier(retry, CircuitBreaker.decorateSupplier(circuitBreaker, call));
+        try {
+            return guarded.get();
+        } catch (CallNotPermittedException e) {
+            LOGGER.warning(() -> "News API circuit breaker is " + circuitBreaker.getState() + ", failing fast");
+            throw new ExternalServiceUnavailableException("News API is temporarily unavailable, please try again later.");
+        }
+    }
+}
@@ -4,18 +4,21 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.interview.news.api.exception.ExternalBadRequestException;
 import com.interview.news.api.exception.ExternalClientUnknownException;
+import com.interview.news.api.exception.ExternalMaximumResultsReachedException;
 import com.interview.news.api.exception.ExternalNotFoundException;
 import com.interview.news.api.exception.ExternalRateLimitExceededException;
 import com.interview.news.api.exception.ExternalServerErrorException;
+import com.interview.news.api.exception.ExternalSourcesTooManyException;
 import com.interview.news.api.exception.ExternalUnauthorizedException;
 import com.interview.news.api.model.NewsApiResponseError;
 import com.interview.news.api.model.SourcesResponse;
-import com.interview.news.api.model.TopHeadlinesResponse;
 import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleKey;
 import com.interview.news.domain.model.dto.ArticleParamsDTO;
 import com.interview.news.domain.model.dto.SourceDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
@@ -24,38 +27,140 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 import static org.springframework.http.HttpStatus.BAD_GATEWAY;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 @Service
 public class NewsExternalServiceIntegration {
 
     @Value("${news.api.key}")
     private String apiKey;
-    private static final String NEWS_API_URL = "https://newsapi.org/v2/top-headlines";
-    private static final String SOURCES_API_URL = "https://newsapi.org/v2/sources";
+    @Value("${news.api.base-url:https://newsapi.org/v2}")
+    private String baseUrl;
+    @Value("${news.api.max-pages:5}")
+    private int maxPages = 5;
+    static final int PAGE_SIZE = 100;
+    private static final String TOP_HEADLINES_PATH = "/top-headlines";
+    private static final String SOURCES_PATH = "/sources";
     private static final Logger LOGGER = Logger.getLogger(NewsExternalServiceIntegration.class.getName());
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final TopHeadlinesStreamDecoder topHeadlinesStreamDecoder;
+    private final HeadlinesChangeTracker headlinesChangeTracker;
+    private final UpstreamRateGovernor upstreamRateGovernor;
+    private final NewsApiResilience newsApiResilience;
 
     @Autowired
-    public NewsExternalServiceIntegration(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    public NewsExternalServiceIntegration(RestTemplate restTemplate, ObjectMapper objectMapper,
+                                          TopHeadlinesStreamDecoder topHeadlinesStreamDecoder,
+                                          HeadlinesChangeTracker headlinesChangeTracker,
+                                          UpstreamRateGovernor upstreamRateGovernor,
+                                          NewsApiResilience newsApiResilience) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.topHeadlinesStreamDecoder = topHeadlinesStreamDecoder;
+        this.headlinesChangeTracker = headlinesChangeTracker;
+        this.upstreamRateGovernor = upstreamRateGovernor;
+        this.newsApiResilience = newsApiResilience;
     }
 
     public List<ArticleDTO> fetchTopHeadlines(final ArticleParamsDTO articleParams) {
-        String url = buildUrlForHeadlines(articleParams);
-        LOGGER.info(() -> "Starting fetchTopHeadlines with URL: " + url);
+        List<ArticleDTO> articles = new ArrayList<>();
+        streamTopHeadlines(articleParams, UpstreamCallPriority.ON_DEMAND, articleKey -> true, articles::add);
+        return articles;
+    }
+
+    /**
+     * Streams top headlines into the sink, without materialising the whole response.
+     * Articles rejected by the filter are dropped before their content is decoded.
+     * Pages of {@value #PAGE_SIZE} articles are requested until the reported total is reached or news.api.max-pages
+     * have been read. Only the first page takes part in change detection: nothing reaches the sink and no further
+     * page is requested when it answers 304 or returns the same article URLs as last time, since new headlines
+     * always enter the first page.
+     * Server and connection errors are retried per page through {@link NewsApiResilience};
+     * the sink is fed only by the successful attempt.
+     */
+    public void streamTopHeadlines(final ArticleParamsDTO articleParams,
+                                   final UpstreamCallPriority priority,
+                                   final Predicate<ArticleKey> filter,
+                                   final Consumer<ArticleDTO> sink) {
+        for (int page = 1; page <= maxPages; page++) {
+            URI uri = buildUriForHeadlines(articleParams, page);
+            int currentPage = page;
+            LOGGER.info(() -> "Starting fetchTopHeadlines with URL: " + uri);
+            try {
+                if (!newsApiResilience.call(() -> streamTopHeadlinesOnce(uri, articleParams, currentPage, priority, filter, sink))) {
+                    return;
+                }
+            } catch (ExternalMaximumResultsReachedException e) {
+                if (page == 1) {
+                    throw e;
+                }
+                LOGGER.warning(() -> "News API plan does not allow more results, stopping at page " + currentPage + ": " + e.getMessage());
+                return;
+            }
+        }
+        LOGGER.warning(() -> "Stopped fetching top headlines for " + articleParams + " after " + maxPages + " pages");
+    }
+
+    /*
+        Returns whether a further page holds more articles.
+     */
+    private boolean streamTopHeadlinesOnce(final URI uri,
+                                           final ArticleParamsDTO articleParams,
+                                           final int page,
+                                           final UpstreamCallPriority priority,
+                                           final Predicate<ArticleKey> filter,
+                                           final Consumer<ArticleDTO> sink) {
+        upstreamRateGovernor.acquire(apiKey, priority);
+        boolean firstPage = page == 1;
 
         try {
-            TopHeadlinesResponse response = restTemplate.getForObject(url, TopHeadlinesResponse.class);
-            LOGGER.info(() -> "Successfully fetched top headlines");
-            return getArticlesFromResponse(response);
+            String requestUrl = uri.toString();
+            Boolean morePages = restTemplate.execute(uri, HttpMethod.GET,
+                    request -> {
+                        if (firstPage) {
+                            headlinesChangeTracker.applyConditionalHeaders(requestUrl, request.getHeaders());
+                        }
+                    },
+                    response -> {
+                        if (response.getStatusCode().isSameCodeAs(NOT_MODIFIED)) {
+                            headlinesChangeTracker.recordNotModified();
+                            LOGGER.info(() -> "Top headlines not modified since the last fetch");
+                            return false;
+                        }
+
+                        List<String> urls = new ArrayList<>();
+                        List<ArticleDTO> accepted = new ArrayList<>();
+                        TopHeadlinesStreamDecoder.DecodedPage decoded = topHeadlinesStreamDecoder.decode(response.getBody(), articleKey -> {
+                            urls.add(articleKey.url());
+                            return filter.test(articleKey);
+                        }, accepted::add);
+
+                        if (firstPage) {
+                            String fingerprint = HeadlinesChangeTracker.fingerprint(urls);
+                            if (headlinesChangeTracker.isUnchanged(articleParams, fingerprint)) {
+                                LOGGER.info(() -> "Top headlines unchanged since the last fetch, skipping " + decoded.articleCount() + " articles");
+                                return false;
+                            }
+                            headlinesChangeTracker.rememberResponse(requestUrl, response.getHeaders(), articleParams, fingerprint);
+                        }
+                        accepted.forEach(sink);
+                        LOGGER.info(() -> "Successfully fetched top headlines page " + page + ", accepted " + accepted.size()
+                                + " of " + decoded.articleCount() + " articles, " + decoded.totalResults() + " in total");
+                        return decoded.articleCount() == PAGE_SIZE && page * PAGE_SIZE < decoded.totalResults();
+                    });
+            upstreamRateGovernor.onSuccess(apiKey);
+            return Boolean.TRUE.equals(morePages);
         } catch (HttpClientErrorException e) {
             LOGGER.warning(() -> "Client error while fetching top headlines: " + e.getMessage());
             handleClientError(e);
@@ -67,17 +172,23 @@ public class NewsExternalServiceIntegration {
             throw new ExternalClientUnknownException("Error while calling News API", e);
         }
 
-        return Collections.emptyList();
+        return false;
     }
 
     public List<SourceDTO> fetchSources() {
-        String url = UriComponentsBuilder.fromHttpUrl(SOURCES_API_URL)
+        String url = UriComponentsBuilder.fromHttpUrl(baseUrl + SOURCES_PATH)
                 .queryParam("apiKey", apiKey)
                 .toUriString();
         LOGGER.info(() -> "Starting fetchSources with URL: " + url);
+        return newsApiResilience.call(() -> fetchSourcesOnce(url));
+    }
+
+    private List<SourceDTO> fetchSourcesOnce(final String url) {
+        upstreamRateGovernor.acquire(apiKey, UpstreamCallPriority.SCHEDULED);
 
         try {
             SourcesResponse response = restTemplate.getForObject(url, SourcesResponse.class);
+            upstreamRateGovernor.onSuccess(apiKey);
             LOGGER.info("Successfully fetched sources");
             return response != null ? response.sources() : Collections.emptyList();
         } catch (HttpClientErrorException e) {
@@ -94,9 +205,11 @@ public class NewsExternalServiceIntegration {
         return Collections.emptyList();
     }
 
-    private String buildUrlForHeadlines(final ArticleParamsDTO articleParams) {
-        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(NEWS_API_URL)
-                .queryParam("apiKey", apiKey);
+    private URI buildUriForHeadlines(final ArticleParamsDTO articleParams, final int page) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl + TOP_HEADLINES_PATH)
+                .queryParam("apiKey", apiKey)
+                .queryParam("pageSize", PAGE_SIZE)
+                .queryParam("page", page);
 
         if (articleParams.country() != null) {
             builder.queryParam("country", articleParams.country());
@@ -108,18 +221,9 @@ public class NewsExternalServiceIntegration {
             builder.queryParam("sources", articleParams.sources());
         }
 
-        String finalUrl = builder.toUriString();
-        LOGGER.info(() -> "Built URL for headlines: " + finalUrl);
-        return finalUrl;
-    }
-
-    private List<ArticleDTO> getArticlesFromResponse(TopHeadlinesResponse response) {
-        if (response == null || response.articles() == null) {
-            LOGGER.warning("Empty response or no articles found");
-            return Collections.emptyList();
-        }
-        LOGGER.info(() -> "Fetched " + response.articles().size() + " articles");
-        return response.articles();
+        URI finalUri = builder.build().toUri();
+        LOGGER.info(() -> "Built URL for headlines: " + finalUri);
+        return finalUri;
     }
 
     private void handleClientError(HttpClientErrorException e) {
@@ -148,14 +252,23 @@ public class NewsExternalServiceIntegration {
                 LOGGER.warning(() -> "Unauthorized error with code: " + errorCode);
                 yield new ExternalUnauthorizedException(errorMessage);
             }
-            case "parameterInvalid", "parametersMissing", "sourcesTooMany" -> {
+            case "sourcesTooMany" -> {
+                LOGGER.warning(() -> "Too many sources error with code: " + errorCode);
+                yield new ExternalSourcesTooManyException(errorMessage);
+            }
+            case "parameterInvalid", "parametersMissing" -> {
                 LOGGER.warning(() -> "Bad request error with code: " + errorCode);
                 yield new ExternalBadRequestException(errorMessage);
             }
             case "rateLimited" -> {
                 LOGGER.warning(() -> "Rate limit error with code: " + errorCode);
+                upstreamRateGovernor.onRateLimited(apiKey);
                 yield new ExternalRateLimitExceededException(errorMessage);
             }
+            case "maximumResultsReached" -> {
+                LOGGER.warning(() -> "Maximum results error with code: " + errorCode);
+                yield new ExternalMaximumResultsReachedException(errorMessage);
+            }
             case "sourceDoesNotExist" -> {
                 LOGGER.warning(() -> "Not found error with code: " + errorCode);
                 yield new ExternalNotFoundException(errorMessage);
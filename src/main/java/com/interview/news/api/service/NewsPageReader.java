@@ -0,0 +1,63 @@
+package com.interview.news.api.service;
+
+import com.interview.news.config.CacheConfig;
+import com.interview.news.domain.model.dto.ArticleFilterDTO;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
+import com.interview.news.persistance.ArticleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Read-through cache of the first pages of GET /api/news. Pages ending within the hot page depth are cached
+ * until an ingest on any instance commits new articles, and never longer than the cache TTL, which bounds staleness
+ * for a page read that races with an ingest. Deeper pages always go to the database.
+ * Only pages {@link RecentArticlesWindow} cannot answer get here: those reaching past the window, and every page
+ * while the window is cold. The hot page depth is therefore meant to exceed the window size.
+ */
+@Component
+public class NewsPageReader {
+
+    private static final Logger LOGGER = Logger.getLogger(NewsPageReader.class.getName());
+
+    private final ArticleRepository articleRepository;
+    private final Cache newsPagesCache;
+    private final int hotPageDepth;
+
+    public NewsPageReader(ArticleRepository articleRepository,
+                          CacheManager cacheManager,
+                          @Value("${news.cache.news-pages.hot-page-depth:1000}") int hotPageDepth) {
+        this.articleRepository = articleRepository;
+        this.newsPagesCache = cacheManager.getCache(CacheConfig.NEWS_PAGES_CACHE);
+        this.hotPageDepth = hotPageDepth;
+    }
+
+    @Cacheable(value = CacheConfig.NEWS_PAGES_CACHE, key = "#limit + ':' + #offset",
+            condition = "#offset + #limit <= #root.target.hotPageDepth")
+    public List<ArticleSummaryDTO> readPage(int limit, int offset) {
+        return List.copyOf(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, offset, limit));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesIngested(ArticlesIngestedEvent event) {
+        LOGGER.fine(() -> "Invalidating cached news pages after " + event.savedArticles().size() + " articles were saved");
+        newsPagesCache.invalidate();
+    }
+
+    /* Ingests of other instances missed while the change feed was down are only bounded by the cache TTL. */
+    @EventListener
+    public void onFeedStatusChanged(ArticleFeedStatusEvent event) {
+        newsPagesCache.invalidate();
+    }
+
+    public int getHotPageDepth() {
+        return hotPageDepth;
+    }
+}
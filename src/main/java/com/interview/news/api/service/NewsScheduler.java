@@ -1,14 +1,12 @@
 package com.interview.news.api.service;
 
-import com.interview.news.domain.model.dto.ArticleParamsDTO;
-import com.interview.news.domain.model.entity.Source;
 import com.interview.news.persistance.SourceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Logger;
 
 @Service
@@ -18,45 +16,74 @@ public class NewsScheduler {
 
     private final SourceRepository sourceRepository;
     private final NewsService newsService;
+    private final SourceFetchPlanner sourceFetchPlanner;
+    private final IngestionExecutor ingestionExecutor;
+    private final ClusterMembership clusterMembership;
 
     @Autowired
-    public NewsScheduler(SourceRepository sourceRepository, NewsService newsService) {
+    public NewsScheduler(SourceRepository sourceRepository, NewsService newsService,
+                         SourceFetchPlanner sourceFetchPlanner, IngestionExecutor ingestionExecutor,
+                         ClusterMembership clusterMembership) {
         this.sourceRepository = sourceRepository;
         this.newsService = newsService;
+        this.sourceFetchPlanner = sourceFetchPlanner;
+        this.ingestionExecutor = ingestionExecutor;
+        this.clusterMembership = clusterMembership;
     }
 
-    @Scheduled(cron = "0 0/5 * * * ?")
+    /**
+     * Every instance refreshes only the sources {@link ClusterMembership} assigns to it.
+     * The run ends once every batch is fetched; their articles are written behind it.
+     */
+    @Scheduled(cron = "${news.schedule.articles-cron:0 0/5 * * * ?}")
     public void fetchArticlesBySourcesConcurrent() {
         LOGGER.info("Starting fetchArticlesBySourcesConcurrent");
 
-        List<Source> uniqueSources = sourceRepository.findAll();
-        uniqueSources.parallelStream().forEach(source -> {
-            ArticleParamsDTO params = new ArticleParamsDTO(null, null, source.getName());
-            newsService.fetchAndSaveTopHeadlines(params);
-        });
+        List<String> ownedSourceIds = clusterMembership.ownedSources(sourceRepository.findAllSourcesId());
+        LOGGER.info(() -> "Node " + clusterMembership.nodeId() + " refreshes " + ownedSourceIds.size() + " sources");
+        List<List<String>> batches = sourceFetchPlanner.plan(ownedSourceIds);
+        ingestionExecutor.runAll(batches.stream()
+                .<Runnable>map(batch -> () -> newsService.fetchAndSaveTopHeadlinesForSources(batch)
+                        .whenComplete((saved, error) -> {
+                            if (error != null) {
+                                LOGGER.warning(() -> "Failed to save articles of " + batch.size() + " sources: " + error.getMessage());
+                            }
+                        }))
+                .toList());
 
         LOGGER.info("Completed fetchArticlesBySourcesConcurrent");
     }
 
     /*
-        Method left only to show the difference in performance between parallel streaming and sequential forEach approach.
+        Method left only to show the difference in performance between virtual thread fan-out and sequential forEach approach.
+        It refreshes the same owned sources and waits for each batch to be written before fetching the next one.
         To observe the difference - may trigger NewsSchedulerTest class.
      */
     public void fetchArticlesBySourcesSequential() {
         LOGGER.info("Starting fetchArticlesBySourcesSequential");
 
-        List<Source> uniqueSources = sourceRepository.findAll();
-        uniqueSources.forEach(source -> {
-            ArticleParamsDTO params = new ArticleParamsDTO(null, null, source.getName());
-            newsService.fetchAndSaveTopHeadlines(params);
+        List<String> ownedSourceIds = clusterMembership.ownedSources(sourceRepository.findAllSourcesId());
+        List<List<String>> batches = sourceFetchPlanner.plan(ownedSourceIds);
+        batches.forEach(batch -> {
+            try {
+                newsService.fetchAndSaveTopHeadlinesForSources(batch).join();
+            } catch (CompletionException e) {
+                LOGGER.warning(() -> "Failed to save articles of " + batch.size() + " sources: " + e.getCause().getMessage());
+            }
         });
 
         LOGGER.info("Completed fetchArticlesBySourcesSequential");
     }
 
-    @Scheduled(cron = "0 0/10 * * * ?")
-    @Transactional
+    /**
+     * The source list is shared, so only the cluster leader refreshes it.
+     */
+    @Scheduled(cron = "${news.schedule.sources-cron:0 0/10 * * * ?}")
     public void fetchSources() {
+        if (!clusterMembership.isLeader()) {
+            LOGGER.fine("Skipping fetchSourcesPeriodically, node " + clusterMembership.nodeId() + " is not the leader");
+            return;
+        }
         LOGGER.info("Starting fetchSourcesPeriodically");
 
         newsService.fetchAndSaveSources();
@@ -1,70 +1,239 @@
 package com.interview.news.api.service;
 
+import com.interview.news.domain.model.dto.ArticleCursor;
 import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleFilterDTO;
+import com.interview.news.domain.model.dto.ArticleKey;
 import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import com.interview.news.domain.model.dto.ArticleSearchCursor;
+import com.interview.news.domain.model.dto.ArticleSearchHit;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
 import com.interview.news.domain.model.dto.SourceDTO;
 import com.interview.news.domain.model.entity.Article;
 import com.interview.news.domain.model.entity.Source;
+import com.interview.news.domain.model.entity.SourceWatermark;
 import com.interview.news.persistance.ArticleRepository;
 import com.interview.news.persistance.SourceRepository;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 @Service
 public class NewsService {
     private static final Logger LOGGER = Logger.getLogger(NewsService.class.getName());
     private final NewsExternalServiceIntegration newsExternalServiceIntegration;
+    private final TopHeadlinesReader topHeadlinesReader;
     private final ArticleRepository articleRepository;
     private final SourceRepository sourceRepository;
+    private final SourceFetchPlanner sourceFetchPlanner;
+    private final SourceWatermarkTracker sourceWatermarkTracker;
+    private final IngestionExecutor ingestionExecutor;
+    private final HeadlinesRequestCoalescer headlinesRequestCoalescer;
+    private final TransactionTemplate transactionTemplate;
+    private final NewsPageReader newsPageReader;
+    private final RecentArticlesWindow recentArticlesWindow;
+    private final RecentArticlesIndex recentArticlesIndex;
+    private final ArticleWriteBehind articleWriteBehind;
+    private final HeadlinesChangeTracker headlinesChangeTracker;
+    private final ApplicationEventPublisher eventPublisher;
 
     public NewsService(NewsExternalServiceIntegration newsExternalServiceIntegration,
+                       TopHeadlinesReader topHeadlinesReader,
                        ArticleRepository articleRepository,
-                       SourceRepository sourceRepository) {
+                       SourceRepository sourceRepository,
+                       SourceFetchPlanner sourceFetchPlanner,
+                       SourceWatermarkTracker sourceWatermarkTracker,
+                       IngestionExecutor ingestionExecutor,
+                       HeadlinesRequestCoalescer headlinesRequestCoalescer,
+                       TransactionTemplate transactionTemplate,
+                       NewsPageReader newsPageReader,
+                       RecentArticlesWindow recentArticlesWindow,
+                       RecentArticlesIndex recentArticlesIndex,
+                       ArticleWriteBehind articleWriteBehind,
+                       HeadlinesChangeTracker headlinesChangeTracker,
+                       ApplicationEventPublisher eventPublisher) {
         this.newsExternalServiceIntegration = newsExternalServiceIntegration;
+        this.topHeadlinesReader = topHeadlinesReader;
         this.articleRepository = articleRepository;
         this.sourceRepository = sourceRepository;
+        this.sourceFetchPlanner = sourceFetchPlanner;
+        this.sourceWatermarkTracker = sourceWatermarkTracker;
+        this.ingestionExecutor = ingestionExecutor;
+        this.headlinesRequestCoalescer = headlinesRequestCoalescer;
+        this.transactionTemplate = transactionTemplate;
+        this.newsPageReader = newsPageReader;
+        this.recentArticlesWindow = recentArticlesWindow;
+        this.recentArticlesIndex = recentArticlesIndex;
+        this.articleWriteBehind = articleWriteBehind;
+        this.headlinesChangeTracker = headlinesChangeTracker;
+        this.eventPublisher = eventPublisher;
     }
 
-    @Transactional
-    @Cacheable(value = "topHeadlinesCache", key = "#params")
+    /**
+     * Concurrent calls with the same normalised params share one upstream call and one write.
+     * The upstream call runs outside any transaction; only the write that follows it holds a database connection.
+     * The upstream response may come from {@link TopHeadlinesReader}'s cache, the articles are saved either way.
+     * The call does not take an upstream permit of {@link IngestionExecutor}: scheduled calls hold those while
+     * waiting for quota, and the rate governor already serves on-demand calls ahead of them.
+     */
     public List<ArticleDTO> fetchAndSaveTopHeadlines(ArticleParamsDTO params) {
-        List<ArticleDTO> articleDTOs = newsExternalServiceIntegration.fetchTopHeadlines(params);
+        ArticleParamsDTO normalizedParams = params.normalized();
+        return headlinesRequestCoalescer.coalesce(normalizedParams, () -> {
+            HeadlinesChangeTracker.DeferredFetch<List<ArticleDTO>> fetch = headlinesChangeTracker.deferRemembering(() ->
+                    topHeadlinesReader.read(normalizedParams));
 
-        List<String> existingUrls = articleRepository.findAllUrls();
-        List<Article> articles = articleDTOs.stream()
-                .map(ArticleDTO::toEntity)
-                .filter(article -> !existingUrls.contains(article.getUrl()))
-                .toList();
+            List<ArticleDTO> savedArticles = transactionTemplate.execute(status -> saveNewArticles(fetch.result()));
+            fetch.acknowledge().run();
+            return savedArticles;
+        });
+    }
+
+    /**
+     * Fetches top headlines for a batch of source ids planned by {@link SourceFetchPlanner},
+     * using one upstream request per batch instead of one per source.
+     * Articles already covered by their source watermark are skipped while decoding,
+     * before mapping and deduplication. The unseen articles are handed to {@link ArticleWriteBehind}
+     * and the fetching thread moves on without waiting for the write: the watermarks advance inside the batch
+     * transaction that writes the articles, and the returned future completes once it has committed.
+     */
+    public CompletableFuture<List<ArticleDTO>> fetchAndSaveTopHeadlinesForSources(List<String> sourceIds) {
+        Map<String, SourceWatermark> watermarks = sourceWatermarkTracker.load(sourceIds);
+        Predicate<ArticleKey> unseenFilter = sourceWatermarkTracker.unseenFilter(watermarks);
 
-        articleRepository.saveAll(articles);
+        HeadlinesChangeTracker.DeferredFetch<Map<String, List<ArticleDTO>>> fetch = headlinesChangeTracker.deferRemembering(() ->
+                ingestionExecutor.callUpstream(() -> sourceFetchPlanner.fetch(sourceIds, unseenFilter)));
+        Map<String, List<ArticleDTO>> unseenArticlesBySource = fetch.result();
+        LOGGER.fine(() -> "Fetched unseen articles per source: " + unseenArticlesBySource.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue().size())
+                .toList());
 
-        return articles.stream().map(ArticleDTO::fromEntity).toList();
+        List<Article> unseenArticles = unseenArticlesBySource.values().stream()
+                .flatMap(List::stream)
+                .map(ArticleDTO::toEntity)
+                .toList();
+        return articleWriteBehind.submit(unseenArticles, () -> sourceWatermarkTracker.advance(watermarks, unseenArticlesBySource))
+                .thenApply(savedArticles -> {
+                    fetch.acknowledge().run();
+                    return savedArticles.stream().map(ArticleDTO::fromEntity).toList();
+                });
     }
 
-    @Transactional
+    /**
+     * Fetches sources outside any transaction, then saves the unknown ones in a short transaction of their own.
+     */
     public List<SourceDTO> fetchAndSaveSources() {
-        List<SourceDTO> sourceDTOs = newsExternalServiceIntegration.fetchSources();
-        List<String> allSourcesId = sourceRepository.findAllSourcesId();
-
-        List<Source> sources = sourceDTOs.stream()
-                .map(SourceDTO::toEntity)
-                .filter(source -> !allSourcesId.contains(source.getSourceId()))
-                /* Added a limit to avoid exhausting the NewsAPI call during scheduled article fetching,
-                as persisting all sources could otherwise result in excessive API requests.
-                 */
-                .limit(3)
-                .toList();
+        List<SourceDTO> sourceDTOs = ingestionExecutor.callUpstream(newsExternalServiceIntegration::fetchSources);
 
-        List<Source> savedSources = sourceRepository.saveAll(sources);
+        List<Source> savedSources = transactionTemplate.execute(status -> {
+            Set<String> allSourcesId = Set.copyOf(sourceRepository.findAllSourcesId());
+            List<Source> sources = sourceDTOs.stream()
+                    .map(SourceDTO::toEntity)
+                    .filter(source -> !allSourcesId.contains(source.getSourceId()))
+                    .toList();
+
+            return sourceRepository.saveAll(sources);
+        });
         LOGGER.info(() -> "Successfully saved" + savedSources.size() + "sources");
         return savedSources.stream().map(SourceDTO::fromEntity).toList();
     }
 
-    public List<Article> getNews(int limit, int offset) {
-        return articleRepository.findArticlesWithLimitAndOffset(limit, offset);
+    private List<ArticleDTO> saveNewArticles(List<ArticleDTO> articleDTOs) {
+        List<Article> articles = articleDTOs.stream()
+                .map(ArticleDTO::toEntity)
+                .toList();
+
+        List<Article> savedArticles = ingestionExecutor.writeToDatabase(() -> articleRepository.insertIfAbsent(articles));
+        if (!savedArticles.isEmpty()) {
+            eventPublisher.publishEvent(new ArticlesIngestedEvent(savedArticles));
+        }
+
+        return savedArticles.stream().map(ArticleDTO::fromEntity).toList();
+    }
+
+    /**
+     * The window answers pages within the newest articles it holds; the page cache takes deeper hot pages
+     * and covers the window while it is cold.
+     */
+    public List<ArticleSummaryDTO> getNews(int limit, int offset) {
+        return recentArticlesWindow.page(limit, offset)
+                .orElseGet(() -> newsPageReader.readPage(limit, offset));
+    }
+
+    public List<ArticleSummaryDTO> getNews(int limit, ArticleCursor cursor) {
+        return getNews(limit, cursor, ArticleFilterDTO.NONE);
+    }
+
+    /**
+     * Filtered pages are read straight from the database; unfiltered ones keep going through the window and page cache.
+     */
+    public List<ArticleSummaryDTO> getNews(int limit, int offset, ArticleFilterDTO filter) {
+        if (filter.isEmpty()) {
+            return getNews(limit, offset);
+        }
+        return articleRepository.findArticleSummaries(filter, null, offset, limit);
+    }
+
+    public List<ArticleSummaryDTO> getNews(int limit, ArticleCursor cursor, ArticleFilterDTO filter) {
+        return articleRepository.findArticleSummaries(filter, cursor, 0, limit);
+    }
+
+    /**
+     * Version of the page the matching getNews call would return, as a fingerprint of its article ids.
+     * Stored articles never change, so equal ids mean an equal page. The ids come from the recent articles window
+     * when it holds the page, and otherwise from a query reading only the page index, never the article rows.
+     */
+    public String getNewsVersion(int limit, int offset, ArticleFilterDTO filter) {
+        if (filter.isEmpty()) {
+            Optional<List<ArticleSummaryDTO>> page = recentArticlesWindow.page(limit, offset);
+            if (page.isPresent()) {
+                return version(page.get());
+            }
+        }
+        return fingerprint(articleRepository.findArticleIds(filter, null, offset, limit));
+    }
+
+    public String getNewsVersion(int limit, ArticleCursor cursor, ArticleFilterDTO filter) {
+        return fingerprint(articleRepository.findArticleIds(filter, cursor, 0, limit));
+    }
+
+    public static String version(List<ArticleSummaryDTO> page) {
+        return fingerprint(page.stream().map(ArticleSummaryDTO::id).toList());
+    }
+
+    private static String fingerprint(List<Long> ids) {
+        return HeadlinesChangeTracker.fingerprint(ids.stream().map(String::valueOf).toList());
+    }
+
+    public Optional<Article> getArticle(long id) {
+        return articleRepository.findById(id);
+    }
+
+    public List<ArticleSearchHit> searchNews(String query, int limit, ArticleSearchCursor cursor) {
+        return articleRepository.searchArticles(requireQuery(query), cursor, limit);
+    }
+
+    /**
+     * Latest articles containing every word of the query, answered by {@link RecentArticlesIndex} whenever it can,
+     * and by the full-text index in the database otherwise.
+     */
+    public List<Article> searchLatestNews(String query, int limit) {
+        String trimmedQuery = requireQuery(query);
+        return recentArticlesIndex.search(trimmedQuery, limit)
+                .orElseGet(() -> articleRepository.searchLatestArticles(trimmedQuery, limit));
+    }
+
+    private String requireQuery(String query) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be blank");
+        }
+        return query.trim();
     }
 }
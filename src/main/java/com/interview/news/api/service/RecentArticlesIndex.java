@@ -0,0 +1,418 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.dto.ArticleCursor;
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the most recently ingested articles, answering "latest news matching these words"
+ * without a database round trip, with the same hits and order as {@link ArticleRepository#searchLatestArticles}.
+ * Words are reduced to lexemes by {@link EnglishStemmer} like plainto_tsquery('english', ...) does. Only queries made of
+ * plain ASCII words are answered here; queries with digits, accents or punctuation inside a word go to the database,
+ * whose parser gives those special meanings. In article text, hosts, paths, emails, numbers and markup are skipped,
+ * as the lexemes Postgres makes of them can never equal the lexeme of a plain word.
+ * Every indexed article gets an increasing int doc id, so each term's posting list is a sorted int array that only
+ * grows at its end and shrinks at its start; eviction of the oldest article therefore never searches a list.
+ * The index is bounded by size and by age, rebuilt from the database whenever {@link ArticleChangeFeed} connects
+ * and fed by committed ingests of every instance afterwards. While the feed is disconnected the index may miss articles
+ * of other instances, so it answers nothing until it is rebuilt.
+ */
+@Component
+public class RecentArticlesIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(RecentArticlesIndex.class.getName());
+    static final Comparator<Article> NEWEST_FIRST = ArticleCursor.newestFirst(Article::getPublishedAt, Article::getId);
+    private static final Pattern MARKUP = Pattern.compile("</?[A-Za-z][^<>]*>|&#?[A-Za-z0-9]+;");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    /* A dot, slash, colon or at sign inside a word makes Postgres parse it as a host, path, URL, email or number. */
+    private static final Pattern COMPOUND_TOKEN = Pattern.compile("[\\p{L}\\p{N}][./:@][\\p{L}\\p{N}]");
+    private static final Pattern PLAIN_WORD = Pattern.compile("[a-z]+");
+
+    private final ArticleRepository articleRepository;
+    private final int capacity;
+    private final Duration maxAge;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /* Ring buffers indexed by docId % capacity; live doc ids are [firstDocId, nextDocId). */
+    private final Article[] articles;
+    private final String[][] articleTerms;
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private final Map<Long, Integer> docIdByArticleId = new HashMap<>();
+    private final List<Article> ingestedBeforeWarmUp = new ArrayList<>();
+    private int firstDocId;
+    private int nextDocId;
+    private boolean warm;
+    /* The newest article in the database that is not in the index, or null when the index holds them all. */
+    private Article newestOutside;
+    private Article newestDroppedBeforeWarmUp;
+
+    public RecentArticlesIndex(ArticleRepository articleRepository,
+                               @Value("${news.search.recent-index.size:10000}") int capacity,
+                               @Value("${news.search.recent-index.max-age:7d}") Duration maxAge) {
+        this.articleRepository = articleRepository;
+        this.capacity = Math.max(capacity, 0);
+        this.maxAge = maxAge;
+        this.articles = new Article[this.capacity];
+        this.articleTerms = new String[this.capacity][];
+    }
+
+    /**
+     * Returns up to limit articles containing every word of the query, newest first,
+     * or empty when the index cannot answer and the database has to be asked instead:
+     * before warm-up, for a query the index does not handle, or when an article outside the index
+     * could belong among the hits.
+     */
+    public Optional<List<Article>> search(String query, int limit) {
+        String[] terms = queryTerms(query).map(found -> found.toArray(String[]::new)).orElse(new String[0]);
+        if (terms.length == 0 || limit <= 0) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (!warm) {
+                return Optional.empty();
+            }
+            Postings[] lists = new Postings[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                lists[i] = postingsByTerm.get(terms[i]);
+                if (lists[i] == null) {
+                    return newestOutside == null ? Optional.of(List.of()) : Optional.empty();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(Postings::size));
+            List<Article> hits = newestMatches(lists, limit);
+            boolean complete = newestOutside == null
+                    || (hits.size() == limit && NEWEST_FIRST.compare(hits.getLast(), newestOutside) < 0);
+            return complete ? Optional.of(hits) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onFeedStatusChanged(ArticleFeedStatusEvent event) {
+        if (event.connected()) {
+            warmUp();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            warm = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void warmUp() {
+        if (capacity == 0) {
+            return;
+        }
+        rebuild(articleRepository.findArticlesWithLimitAndOffset(capacity + 1, 0));
+        LOGGER.info(() -> "Warmed recent articles index with " + size() + " articles");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesIngested(ArticlesIngestedEvent event) {
+        if (capacity == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (warm) {
+                addAll(event.savedArticles());
+            } else {
+                ingestedBeforeWarmUp.addAll(event.savedArticles());
+                /* Only the newest articles can make it into the index, so a long cold period keeps the buffer bounded. */
+                if (ingestedBeforeWarmUp.size() > capacity) {
+                    List<Article> dropped = ingestedBeforeWarmUp.subList(0, ingestedBeforeWarmUp.size() - capacity);
+                    dropped.forEach(article -> newestDroppedBeforeWarmUp = newer(newestDroppedBeforeWarmUp, article));
+                    dropped.clear();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the index content with the given articles, ordered newest first as the database returns them.
+     * One row beyond the capacity tells whether older articles exist; it is not indexed.
+     * Articles ingested while the rows were being read are indexed after them.
+     */
+    void rebuild(List<Article> newestFirst) {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(articles, null);
+            Arrays.fill(articleTerms, null);
+            postingsByTerm.clear();
+            docIdByArticleId.clear();
+            firstDocId = 0;
+            nextDocId = 0;
+            newestOutside = newer(newestDroppedBeforeWarmUp, newestFirst.size() > capacity ? newestFirst.get(capacity) : null);
+            newestDroppedBeforeWarmUp = null;
+
+            addAll(newestFirst.subList(0, Math.min(newestFirst.size(), capacity)).reversed());
+            addAll(ingestedBeforeWarmUp);
+            ingestedBeforeWarmUp.clear();
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return nextDocId - firstDocId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addAll(Collection<Article> added) {
+        for (Article article : added) {
+            if (docIdByArticleId.containsKey(article.getId())) {
+                continue;
+            }
+            if (nextDocId - firstDocId == capacity) {
+                evictOldest();
+            }
+            int docId = nextDocId++;
+            int slot = docId % capacity;
+            String[] terms = documentTerms(article.getTitle(), article.getDescription(), article.getContent()).toArray(String[]::new);
+            articles[slot] = article;
+            articleTerms[slot] = terms;
+            docIdByArticleId.put(article.getId(), docId);
+            for (String term : terms) {
+                postingsByTerm.computeIfAbsent(term, key -> new Postings()).add(docId);
+            }
+        }
+        evictExpired();
+    }
+
+    /*
+        Ingest order roughly follows publication time, so only the oldest end of the index is checked for age.
+        Undated articles never expire, as the database ranks them first; the check looks past them, and an expired
+        article behind them is removed from the lookups while its postings wait for the capacity eviction.
+     */
+    private void evictExpired() {
+        Instant oldestAllowed = Instant.now().minus(maxAge);
+        for (int docId = firstDocId; docId < nextDocId; docId++) {
+            Article article = articles[docId % capacity];
+            if (article == null || article.getPublishedAt() == null) {
+                continue;
+            }
+            if (!article.getPublishedAt().isBefore(oldestAllowed)) {
+                return;
+            }
+            if (docId == firstDocId) {
+                evictOldest();
+            } else {
+                remove(docId);
+            }
+        }
+    }
+
+    private void evictOldest() {
+        int docId = firstDocId++;
+        int slot = docId % capacity;
+        for (String term : articleTerms[slot]) {
+            Postings postings = postingsByTerm.get(term);
+            postings.removeFirst();
+            if (postings.size() == 0) {
+                postingsByTerm.remove(term);
+            }
+        }
+        if (articles[slot] != null) {
+            remove(docId);
+        }
+        articleTerms[slot] = null;
+    }
+
+    private void remove(int docId) {
+        int slot = docId % capacity;
+        docIdByArticleId.remove(articles[slot].getId());
+        newestOutside = newer(newestOutside, articles[slot]);
+        articles[slot] = null;
+    }
+
+    private static Article newer(Article current, Article candidate) {
+        if (current == null) {
+            return candidate;
+        }
+        return candidate == null || NEWEST_FIRST.compare(current, candidate) <= 0 ? current : candidate;
+    }
+
+    /*
+        Walks the shortest list from its newest doc id down and looks each id up in the other lists.
+        Every other list keeps a cursor that only moves down, and is advanced by galloping then binary search,
+        so the cost follows the shortest list rather than the longest one and no intermediate arrays are built.
+        Ingest order is not publication order, so every match is offered to a heap keeping the newest limit of them.
+     */
+    private List<Article> newestMatches(Postings[] lists, int limit) {
+        Postings shortest = lists[0];
+        int[] cursors = new int[lists.length];
+        for (int j = 1; j < lists.length; j++) {
+            cursors[j] = lists[j].end - 1;
+        }
+        PriorityQueue<Article> newest = new PriorityQueue<>(Math.min(limit, shortest.size()) + 1, NEWEST_FIRST.reversed());
+
+        candidates:
+        for (int i = shortest.end - 1; i >= shortest.start; i--) {
+            int docId = shortest.docIds[i];
+            for (int j = 1; j < lists.length; j++) {
+                int position = lists[j].seekAtMost(cursors[j], docId);
+                if (position < lists[j].start) {
+                    break candidates;
+                }
+                cursors[j] = position;
+                if (lists[j].docIds[position] != docId) {
+                    continue candidates;
+                }
+            }
+            Article article = articles[docId % capacity];
+            if (article != null) {
+                newest.add(article);
+                if (newest.size() > limit) {
+                    newest.poll();
+                }
+            }
+        }
+        List<Article> hits = new ArrayList<>(newest);
+        hits.sort(NEWEST_FIRST);
+        return hits;
+    }
+
+    /**
+     * Lexemes of a query made of plain ASCII words, without stopwords, or empty when the database has to parse it.
+     */
+    static Optional<Set<String>> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String token : WHITESPACE.split(query.strip())) {
+            String word = trimToWord(token).toLowerCase(Locale.ROOT);
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (!PLAIN_WORD.matcher(word).matches()) {
+                return Optional.empty();
+            }
+            if (!EnglishStemmer.STOPWORDS.contains(word)) {
+                terms.add(EnglishStemmer.stem(word));
+            }
+        }
+        return Optional.of(terms);
+    }
+
+    /**
+     * Lexemes of the plain ASCII words of the texts, the only ones a query answered by the index can match.
+     */
+    static Set<String> documentTerms(String... texts) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (String token : WHITESPACE.split(MARKUP.matcher(text).replaceAll(" "))) {
+                String core = trimToWord(token);
+                if (COMPOUND_TOKEN.matcher(core).find()) {
+                    continue;
+                }
+                for (String word : WORD_SEPARATOR.split(core.toLowerCase(Locale.ROOT))) {
+                    if (PLAIN_WORD.matcher(word).matches() && !EnglishStemmer.STOPWORDS.contains(word)) {
+                        terms.add(EnglishStemmer.stem(word));
+                    }
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static String trimToWord(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && !Character.isLetterOrDigit(token.charAt(start))) {
+            start++;
+        }
+        while (end > start && !Character.isLetterOrDigit(token.charAt(end - 1))) {
+            end--;
+        }
+        return token.substring(start, end);
+    }
+
+    /* Sorted doc ids of one term in docIds[start, end). */
+    private static final class Postings {
+        private int[] docIds = new int[4];
+        private int start;
+        private int end;
+
+        int size() {
+            return end - start;
+        }
+
+        void add(int docId) {
+            if (end == docIds.length) {
+                int size = size();
+                int[] target = start > docIds.length / 2 ? docIds : new int[docIds.length * 2];
+                System.arraycopy(docIds, start, target, 0, size);
+                docIds = target;
+                start = 0;
+                end = size;
+            }
+            docIds[end++] = docId;
+        }
+
+        void removeFirst() {
+            start++;
+        }
+
+        /* Largest position at or below from whose doc id is at most target, or start - 1 when there is none. */
+        int seekAtMost(int from, int target) {
+            if (docIds[from] <= target) {
+                return from;
+            }
+            int high = from;
+            int step = 1;
+            int low = high - step;
+            while (low >= start && docIds[low] > target) {
+                high = low;
+                step <<= 1;
+                low = high - step;
+            }
+            if (low < start) {
+                low = start - 1;
+            }
+            while (high - low > 1) {
+                int middle = (low + high) >>> 1;
+                if (docIds[middle] <= target) {
+                    low = middle;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
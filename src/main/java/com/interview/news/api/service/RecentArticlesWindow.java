@@ -0,0 +1,109 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.dto.ArticleCursor;
+import com.interview.news.domain.model.dto.ArticleFilterDTO;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
+import com.interview.news.persistance.ArticleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Summaries of the newest articles kept in memory in the same order as GET /api/news, so first pages are served without the database.
+ * The window is an immutable array swapped atomically on every change: readers never lock and a page is only a view of it.
+ * It is warmed from the database whenever {@link ArticleChangeFeed} connects and fed by committed ingests of every instance afterwards.
+ * While the feed is disconnected the window may miss articles of other instances, so it answers nothing until it is warmed again.
+ */
+@Component
+public class RecentArticlesWindow {
+
+    private static final Logger LOGGER = Logger.getLogger(RecentArticlesWindow.class.getName());
+    private static final Comparator<ArticleSummaryDTO> NEWEST_FIRST =
+            ArticleCursor.newestFirst(ArticleSummaryDTO::publishedAt, ArticleSummaryDTO::id);
+
+    private final ArticleRepository articleRepository;
+    private final int capacity;
+    private final AtomicReference<Window> window = new AtomicReference<>(new Window(new ArticleSummaryDTO[0], false));
+
+    public RecentArticlesWindow(ArticleRepository articleRepository,
+                                @Value("${news.recent-window.size:200}") int capacity) {
+        this.articleRepository = articleRepository;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the page when the window can answer it exactly, or empty when it has to be read from the database.
+     */
+    public Optional<List<ArticleSummaryDTO>> page(int limit, int offset) {
+        Window current = window.get();
+        ArticleSummaryDTO[] articles = current.articles();
+        long end = (long) offset + limit;
+        boolean holdsWholeTable = articles.length < capacity;
+        if (!current.warm() || limit <= 0 || offset < 0 || (end > articles.length && !holdsWholeTable)) {
+            return Optional.empty();
+        }
+        int from = Math.min(offset, articles.length);
+        int to = (int) Math.min(end, articles.length);
+        return Optional.of(Collections.unmodifiableList(Arrays.asList(articles).subList(from, to)));
+    }
+
+    @EventListener
+    public void onFeedStatusChanged(ArticleFeedStatusEvent event) {
+        if (event.connected()) {
+            warmUp();
+        } else {
+            window.updateAndGet(current -> new Window(current.articles(), false));
+        }
+    }
+
+    public void warmUp() {
+        if (capacity <= 0) {
+            return;
+        }
+        List<ArticleSummaryDTO> newest = articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 0, capacity);
+        Window warmed = window.updateAndGet(current -> merge(current, newest, true));
+        LOGGER.info(() -> "Warmed recent articles window with " + warmed.articles().length + " articles");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticlesIngested(ArticlesIngestedEvent event) {
+        if (capacity <= 0) {
+            return;
+        }
+        List<ArticleSummaryDTO> added = event.savedArticles().stream().map(ArticleSummaryDTO::fromEntity).toList();
+        window.updateAndGet(current -> merge(current, added, current.warm()));
+    }
+
+    private Window merge(Window current, Collection<ArticleSummaryDTO> added, boolean warm) {
+        ArticleSummaryDTO[] candidates = Stream.concat(Arrays.stream(current.articles()), added.stream())
+                .sorted(NEWEST_FIRST)
+                .toArray(ArticleSummaryDTO[]::new);
+
+        /* Sorting places equal ids next to each other, so comparing with the previous article drops duplicates. */
+        ArticleSummaryDTO[] merged = new ArticleSummaryDTO[Math.min(candidates.length, capacity)];
+        int size = 0;
+        for (ArticleSummaryDTO candidate : candidates) {
+            if (size == merged.length) {
+                break;
+            }
+            if (size == 0 || !merged[size - 1].id().equals(candidate.id())) {
+                merged[size++] = candidate;
+            }
+        }
+        return new Window(Arrays.copyOf(merged, size), warm);
+    }
+
+    private record Window(ArticleSummaryDTO[] articles, boolean warm) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.interview.news.api.service;
+
+import com.interview.news.api.exception.ExternalSourcesTooManyException;
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleKey;
+import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Packs source ids into as few top-headlines requests as the News API allows
+ * and splits each response back into articles per source.
+ */
+@Component
+public class SourceFetchPlanner {
+
+    static final int MAX_SOURCES_PER_REQUEST = 20;
+    private static final Logger LOGGER = Logger.getLogger(SourceFetchPlanner.class.getName());
+
+    private final NewsExternalServiceIntegration newsExternalServiceIntegration;
+    private final int sourcesPerRequest;
+
+    public SourceFetchPlanner(NewsExternalServiceIntegration newsExternalServiceIntegration,
+                              @Value("${news.api.sources-per-request:20}") int sourcesPerRequest) {
+        if (sourcesPerRequest < 1 || sourcesPerRequest > MAX_SOURCES_PER_REQUEST) {
+            throw new IllegalArgumentException("Sources per request must be between 1 and " + MAX_SOURCES_PER_REQUEST);
+        }
+        this.newsExternalServiceIntegration = newsExternalServiceIntegration;
+        this.sourcesPerRequest = sourcesPerRequest;
+    }
+
+    public List<List<String>> plan(List<String> sourceIds) {
+        List<String> uniqueSourceIds = sourceIds.stream().distinct().toList();
+        List<List<String>> batches = new ArrayList<>();
+        for (int from = 0; from < uniqueSourceIds.size(); from += sourcesPerRequest) {
+            batches.add(uniqueSourceIds.subList(from, Math.min(from + sourcesPerRequest, uniqueSourceIds.size())));
+        }
+        LOGGER.info(() -> "Planned " + batches.size() + " requests for " + uniqueSourceIds.size() + " sources");
+        return batches;
+    }
+
+    /**
+     * Fetches top headlines for a whole batch in one paged request and splits them by source while decoding.
+     * Articles rejected by the filter are skipped by the decoder. If the News API answers with sourcesTooMany,
+     * the batch is halved and both halves are fetched separately.
+     */
+    public Map<String, List<ArticleDTO>> fetch(List<String> batch, Predicate<ArticleKey> filter) {
+        Map<String, List<ArticleDTO>> articlesBySource = new LinkedHashMap<>();
+        batch.forEach(sourceId -> articlesBySource.put(sourceId, new ArrayList<>()));
+
+        try {
+            ArticleParamsDTO params = new ArticleParamsDTO(null, null, String.join(",", batch));
+            newsExternalServiceIntegration.streamTopHeadlines(params, UpstreamCallPriority.SCHEDULED, filter, article -> addToSource(articlesBySource, article));
+            return articlesBySource;
+        } catch (ExternalSourcesTooManyException e) {
+            if (batch.size() == 1) {
+                throw e;
+            }
+            LOGGER.warning(() -> "News API rejected " + batch.size() + " sources in one request, splitting the batch");
+            articlesBySource.putAll(fetch(batch.subList(0, batch.size() / 2), filter));
+            articlesBySource.putAll(fetch(batch.subList(batch.size() / 2, batch.size()), filter));
+            return articlesBySource;
+        }
+    }
+
+    private void addToSource(Map<String, List<ArticleDTO>> articlesBySource, ArticleDTO article) {
+        String sourceId = article.source() != null ? article.source().id() : null;
+        List<ArticleDTO> sourceArticles = sourceId != null ? articlesBySource.get(sourceId) : null;
+        if (sourceArticles == null) {
+            LOGGER.warning(() -> "Skipping article not matching any requested source: " + article.url());
+            return;
+        }
+        sourceArticles.add(article);
+    }
+}
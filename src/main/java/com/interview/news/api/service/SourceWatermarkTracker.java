@@ -0,0 +1,90 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleKey;
+import com.interview.news.domain.model.entity.SourceWatermark;
+import com.interview.news.persistance.SourceWatermarkRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a persisted high-water mark per source, so a refresh only processes articles newer than the previous one.
+ */
+@Component
+public class SourceWatermarkTracker {
+
+    private final SourceWatermarkRepository sourceWatermarkRepository;
+
+    public SourceWatermarkTracker(SourceWatermarkRepository sourceWatermarkRepository) {
+        this.sourceWatermarkRepository = sourceWatermarkRepository;
+    }
+
+    public Map<String, SourceWatermark> load(Collection<String> sourceIds) {
+        return sourceWatermarkRepository.findAllById(sourceIds).stream()
+                .collect(Collectors.toMap(SourceWatermark::getSourceId, Function.identity()));
+    }
+
+    /**
+     * Accepts only articles that are not covered by the watermark of their source.
+     */
+    public Predicate<ArticleKey> unseenFilter(Map<String, SourceWatermark> watermarks) {
+        return articleKey -> !isCovered(watermarks.get(articleKey.sourceId()), articleKey);
+    }
+
+    /**
+     * Advances the watermarks past the given unseen articles.
+     * Must run in the same transaction as the write of those articles.
+     */
+    public void advance(Map<String, SourceWatermark> watermarks, Map<String, List<ArticleDTO>> unseenArticlesBySource) {
+        List<SourceWatermark> advancedWatermarks = new ArrayList<>();
+        unseenArticlesBySource.forEach((sourceId, unseenArticles) -> {
+            SourceWatermark advancedWatermark = advance(sourceId, watermarks.get(sourceId), unseenArticles);
+            if (advancedWatermark != null) {
+                advancedWatermarks.add(advancedWatermark);
+            }
+        });
+        sourceWatermarkRepository.saveAll(advancedWatermarks);
+    }
+
+    static boolean isCovered(SourceWatermark watermark, ArticleKey articleKey) {
+        if (watermark == null || articleKey.publishedAt() == null) {
+            return false;
+        }
+        int comparison = articleKey.publishedAt().compareTo(watermark.getLatestPublishedAt());
+        return comparison < 0 || (comparison == 0 && watermark.getLatestUrls().contains(articleKey.url()));
+    }
+
+    private SourceWatermark advance(String sourceId, SourceWatermark watermark, List<ArticleDTO> unseenArticles) {
+        Instant newestPublishedAt = unseenArticles.stream()
+                .map(ArticleDTO::publishedAt)
+                .filter(Objects::nonNull)
+                .max(Instant::compareTo)
+                .orElse(null);
+        if (newestPublishedAt == null) {
+            return null;
+        }
+
+        SourceWatermark advancedWatermark = watermark != null ? watermark : new SourceWatermark();
+        List<String> latestUrls = newestPublishedAt.equals(advancedWatermark.getLatestPublishedAt())
+                ? new ArrayList<>(advancedWatermark.getLatestUrls())
+                : new ArrayList<>();
+        unseenArticles.stream()
+                .filter(article -> newestPublishedAt.equals(article.publishedAt()))
+                .map(ArticleDTO::url)
+                .forEach(latestUrls::add);
+
+        advancedWatermark.setSourceId(sourceId);
+        advancedWatermark.setLatestPublishedAt(newestPublishedAt);
+        advancedWatermark.setLatestUrls(latestUrls);
+        return advancedWatermark;
+    }
+}
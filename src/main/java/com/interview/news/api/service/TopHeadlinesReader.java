@@ -0,0 +1,28 @@
+package com.interview.news.api.service;
+
+import com.interview.news.config.CacheConfig;
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Read side of on-demand headline fetches. Only the upstream response is cached,
+ * so a cache hit saves the News API call but never the write that follows it.
+ */
+@Component
+public class TopHeadlinesReader {
+
+    private final NewsExternalServiceIntegration newsExternalServiceIntegration;
+
+    public TopHeadlinesReader(NewsExternalServiceIntegration newsExternalServiceIntegration) {
+        this.newsExternalServiceIntegration = newsExternalServiceIntegration;
+    }
+
+    @Cacheable(value = CacheConfig.TOP_HEADLINES_CACHE, key = "#params")
+    public List<ArticleDTO> read(ArticleParamsDTO params) {
+        return newsExternalServiceIntegration.fetchTopHeadlines(params);
+    }
+}
@@ -0,0 +1,165 @@
+package com.interview.news.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleKey;
+import com.interview.news.domain.model.dto.SourceDTO;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Decodes a top-headlines response token by token instead of binding the whole payload at once.
+ * Each article is offered to a filter as soon as its source, URL and publication time are known; rejected articles
+ * have their remaining fields skipped by the parser without building strings for them.
+ * In the field order of the News API that only spares the content: description, URL and image URL come before
+ * the publication time and are already read when the filter runs.
+ */
+@Component
+public class TopHeadlinesStreamDecoder {
+
+    private static final Logger LOGGER = Logger.getLogger(TopHeadlinesStreamDecoder.class.getName());
+
+    private final JsonFactory jsonFactory;
+
+    public TopHeadlinesStreamDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Emits every accepted article to the sink and returns the number of articles found in the response
+     * together with the total the upstream reports across all pages.
+     */
+    public DecodedPage decode(InputStream body, Predicate<ArticleKey> filter, Consumer<ArticleDTO> sink) throws IOException {
+        int articleCount = 0;
+        int totalResults = 0;
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new DecodedPage(0, 0);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("totalResults".equals(field)) {
+                    totalResults = parser.getValueAsInt();
+                    continue;
+                }
+                if (!"articles".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    articleCount++;
+                    ArticleDTO article = readArticle(parser, filter);
+                    if (article != null) {
+                        sink.accept(article);
+                    }
+                }
+            }
+        }
+        return new DecodedPage(articleCount, totalResults);
+    }
+
+    private ArticleDTO readArticle(JsonParser parser, Predicate<ArticleKey> filter) throws IOException {
+        SourceDTO source = null;
+        String author = null;
+        String title = null;
+        String description = null;
+        String url = null;
+        String urlToImage = null;
+        Instant publishedAt = null;
+        String content = null;
+        boolean urlRead = false;
+        boolean publishedAtRead = false;
+        boolean accepted = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "source" -> source = readSource(parser);
+                case "author" -> author = parser.getValueAsString();
+                case "title" -> title = parser.getValueAsString();
+                case "description" -> description = parser.getValueAsString();
+                case "url" -> {
+                    url = parser.getValueAsString();
+                    urlRead = true;
+                }
+                case "urlToImage" -> urlToImage = parser.getValueAsString();
+                case "publishedAt" -> {
+                    publishedAt = parseInstant(parser.getValueAsString());
+                    publishedAtRead = true;
+                }
+                case "content" -> content = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+
+            if (!accepted && urlRead && publishedAtRead) {
+                if (!filter.test(new ArticleKey(sourceId(source), url, publishedAt))) {
+                    skipRemainingFields(parser);
+                    return null;
+                }
+                accepted = true;
+            }
+        }
+
+        if (!accepted && !filter.test(new ArticleKey(sourceId(source), url, publishedAt))) {
+            return null;
+        }
+        return new ArticleDTO(source, author, title, description, url, urlToImage, publishedAt, content);
+    }
+
+    private SourceDTO readSource(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String id = null;
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "id" -> id = parser.getValueAsString();
+                case "name" -> name = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        return new SourceDTO(id, name);
+    }
+
+    private void skipRemainingFields(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+
+    private String sourceId(SourceDTO source) {
+        return source != null ? source.id() : null;
+    }
+
+    private Instant parseInstant(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            LOGGER.fine(() -> "Ignoring unparseable publishedAt: " + value);
+            return null;
+        }
+    }
+
+    public record DecodedPage(int articleCount, int totalResults) {
+    }
+}
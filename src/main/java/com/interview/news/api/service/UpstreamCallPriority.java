@@ -0,0 +1,10 @@
+package com.interview.news.api.service;
+
+/**
+ * Who an upstream call is made for. On-demand calls answer a waiting HTTP client and are served first;
+ * scheduled calls must also leave part of the daily quota untouched for them.
+ */
+public enum UpstreamCallPriority {
+    ON_DEMAND,
+    SCHEDULED
+}
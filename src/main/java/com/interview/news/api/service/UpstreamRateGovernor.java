@@ -0,0 +1,214 @@
+package com.interview.news.api.service;
+
+import com.interview.news.api.exception.ExternalRateLimitExceededException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Spends the News API quota before the upstream has to refuse it. Every API key gets a burst bucket refilled
+ * at a steady per-second rate and a daily bucket refilled evenly over the day; a call proceeds only when both hold a token.
+ * A rateLimited answer halves the burst refill rate and pauses the key for a cool-down, successful calls restore it gradually.
+ * On-demand calls are served before waiting scheduled calls, and scheduled calls cannot spend the reserved part of the daily quota.
+ * The configured limits are those of the whole API key: every instance spends an equal share of them,
+ * following the live node count of {@link ClusterMembership}.
+ */
+@Component
+public class UpstreamRateGovernor {
+
+    private static final Logger LOGGER = Logger.getLogger(UpstreamRateGovernor.class.getName());
+    private static final double MIN_RATE_FACTOR = 1.0 / 16;
+    private static final double RATE_FACTOR_RECOVERY_STEP = 1.0 / 16;
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final double NANOS_PER_DAY = TimeUnit.DAYS.toNanos(1);
+
+    private final int burstCapacity;
+    private final double requestsPerSecond;
+    private final int requestsPerDay;
+    private final int onDemandReserve;
+    private final Duration coolDown;
+    private final Duration onDemandMaxWait;
+    private final Duration scheduledMaxWait;
+    private final IntSupplier liveNodeCount;
+    private final Map<String, KeyQuota> quotasByApiKey = new ConcurrentHashMap<>();
+
+    @Autowired
+    public UpstreamRateGovernor(ClusterMembership clusterMembership,
+                                @Value("${news.api.rate-limit.burst-capacity:10}") int burstCapacity,
+                                @Value("${news.api.rate-limit.requests-per-second:5}") double requestsPerSecond,
+                                @Value("${news.api.rate-limit.requests-per-day:1000}") int requestsPerDay,
+                                @Value("${news.api.rate-limit.on-demand-reserve:100}") int onDemandReserve,
+                                @Value("${news.api.rate-limit.cool-down:60s}") Duration coolDown,
+                                @Value("${news.api.rate-limit.on-demand-max-wait:2s}") Duration onDemandMaxWait,
+                                @Value("${news.api.rate-limit.scheduled-max-wait:30s}") Duration scheduledMaxWait) {
+        this(clusterMembership::liveNodeCount, burstCapacity, requestsPerSecond, requestsPerDay, onDemandReserve,
+                coolDown, onDemandMaxWait, scheduledMaxWait);
+    }
+
+    UpstreamRateGovernor(IntSupplier liveNodeCount, int burstCapacity, double requestsPerSecond, int requestsPerDay,
+                         int onDemandReserve, Duration coolDown, Duration onDemandMaxWait, Duration scheduledMaxWait) {
+        if (burstCapacity < 1 || requestsPerSecond <= 0 || requestsPerDay < 1) {
+            throw new IllegalArgumentException("Rate limit capacities and refill rate must be positive");
+        }
+        if (onDemandReserve < 0 || onDemandReserve >= requestsPerDay) {
+            throw new IllegalArgumentException("On-demand reserve must be between 0 and requests-per-day - 1, was: " + onDemandReserve);
+        }
+        this.burstCapacity = burstCapacity;
+        this.requestsPerSecond = requestsPerSecond;
+        this.requestsPerDay = requestsPerDay;
+        this.onDemandReserve = onDemandReserve;
+        this.coolDown = coolDown;
+        this.onDemandMaxWait = onDemandMaxWait;
+        this.scheduledMaxWait = scheduledMaxWait;
+        this.liveNodeCount = liveNodeCount;
+    }
+
+    /**
+     * Blocks until the key may make one more upstream call, or throws {@link ExternalRateLimitExceededException}
+     * when no token becomes available within the wait allowed for the priority.
+     */
+    public void acquire(String apiKey, UpstreamCallPriority priority) {
+        quota(apiKey).acquire(priority);
+    }
+
+    public void onRateLimited(String apiKey) {
+        quota(apiKey).slowDown();
+    }
+
+    public void onSuccess(String apiKey) {
+        quota(apiKey).recover();
+    }
+
+    private double nodeShare() {
+        return 1.0 / Math.max(1, liveNodeCount.getAsInt());
+    }
+
+    private KeyQuota quota(String apiKey) {
+        return quotasByApiKey.computeIfAbsent(apiKey, key -> new KeyQuota());
+    }
+
+    private final class KeyQuota {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition quotaChanged = lock.newCondition();
+        private double share = nodeShare();
+        private double burstTokens = burstCapacity();
+        private double dailyTokens = dailyCapacity();
+        private double rateFactor = 1.0;
+        private long lastRefillNanos = System.nanoTime();
+        private long pausedUntilNanos = lastRefillNanos;
+        private int waitingOnDemand;
+
+        void acquire(UpstreamCallPriority priority) {
+            boolean onDemand = priority == UpstreamCallPriority.ON_DEMAND;
+            Duration maxWait = onDemand ? onDemandMaxWait : scheduledMaxWait;
+
+            lock.lock();
+            try {
+                if (onDemand) {
+                    waitingOnDemand++;
+                }
+                try {
+                    long deadline = System.nanoTime() + maxWait.toNanos();
+                    while (true) {
+                        long now = System.nanoTime();
+                        refill(now);
+                        long waitNanos = nanosUntilPermitted(onDemand, now);
+                        if (waitNanos == 0) {
+                            burstTokens -= 1;
+                            dailyTokens -= 1;
+                            return;
+                        }
+                        long remainingNanos = deadline - now;
+                        if (waitNanos > remainingNanos) {
+                            throw new ExternalRateLimitExceededException("No upstream quota available for "
+                                    + priority + " call within " + maxWait);
+                        }
+                        quotaChanged.awaitNanos(waitNanos);
+                    }
+                } finally {
+                    if (onDemand) {
+                        waitingOnDemand--;
+                    }
+                    quotaChanged.signalAll();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for upstream quota", e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void slowDown() {
+            lock.lock();
+            try {
+                refill(System.nanoTime());
+                rateFactor = Math.max(MIN_RATE_FACTOR, rateFactor / 2);
+                burstTokens = 0;
+                pausedUntilNanos = System.nanoTime() + coolDown.toNanos();
+                LOGGER.warning(() -> "Upstream rate limited, pausing for " + coolDown + " and refilling at "
+                        + rateFactor * requestsPerSecond * share + " requests per second");
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void recover() {
+            lock.lock();
+            try {
+                if (rateFactor < 1.0) {
+                    refill(System.nanoTime());
+                    rateFactor = Math.min(1.0, rateFactor + RATE_FACTOR_RECOVERY_STEP);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /* Tokens gathered before a node joined are clamped to the smaller share at the next refill. */
+        private void refill(long now) {
+            long elapsedNanos = now - lastRefillNanos;
+            burstTokens += elapsedNanos * burstTokensPerNano();
+            dailyTokens += elapsedNanos * dailyCapacity() / NANOS_PER_DAY;
+            lastRefillNanos = now;
+            share = nodeShare();
+            burstTokens = Math.min(burstCapacity(), burstTokens);
+            dailyTokens = Math.min(dailyCapacity(), dailyTokens);
+        }
+
+        /**
+         * Scheduled calls leave one burst token for every waiting on-demand call and the reserve of the daily quota.
+         */
+        private long nanosUntilPermitted(boolean onDemand, long now) {
+            int queuedAhead = onDemand ? 0 : waitingOnDemand;
+            double burstNeeded = 1 + queuedAhead;
+            double dailyNeeded = 1 + queuedAhead + (onDemand ? 0 : onDemandReserve * share);
+
+            double burstWait = Math.max(0, burstNeeded - burstTokens) / burstTokensPerNano();
+            double dailyWait = Math.max(0, dailyNeeded - dailyTokens) * NANOS_PER_DAY / dailyCapacity();
+            double pauseWait = Math.max(0, pausedUntilNanos - now);
+            return (long) Math.ceil(Math.max(pauseWait, Math.max(burstWait, dailyWait)));
+        }
+
+        private double burstTokensPerNano() {
+            return requestsPerSecond * share * rateFactor / NANOS_PER_SECOND;
+        }
+
+        private double burstCapacity() {
+            return Math.max(1, burstCapacity * share);
+        }
+
+        private double dailyCapacity() {
+            return Math.max(1, requestsPerDay * share);
+        }
+    }
+}
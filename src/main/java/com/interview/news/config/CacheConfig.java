@@ -0,0 +1,33 @@
+package com.interview.news.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Caffeine caches with a size bound, TTL and recorded statistics per cache, published as cache.* metrics on actuator.
+ * Only the caches declared here exist; a @Cacheable naming any other cache fails instead of creating an unbounded one.
+ */
+@Configuration
+public class CacheConfig {
+
+    public static final String TOP_HEADLINES_CACHE = "topHeadlinesCache";
+    public static final String NEWS_PAGES_CACHE = "newsPagesCache";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${news.cache.top-headlines.spec:maximumSize=500,expireAfterWrite=5m}") String topHeadlinesSpec,
+            @Value("${news.cache.news-pages.spec:maximumSize=200,expireAfterWrite=30s}") String newsPagesSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(TOP_HEADLINES_CACHE, Caffeine.from(topHeadlinesSpec).recordStats().build());
+        cacheManager.registerCustomCache(NEWS_PAGES_CACHE, Caffeine.from(newsPagesSpec).recordStats().build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,72 @@
+package com.interview.news.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * HTTP client used for the News API: pooled keep-alive connections with per-host limits,
+ * bounded timeouts so a slow upstream cannot pin scheduler threads, and transparent gzip decoding.
+ */
+@Configuration
+public class NewsApiClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager newsApiConnectionManager(
+            @Value("${news.api.http.max-connections:50}") int maxConnections,
+            @Value("${news.api.http.max-connections-per-host:20}") int maxConnectionsPerHost,
+            @Value("${news.api.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${news.api.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${news.api.http.connection-time-to-live:5m}") Duration connectionTimeToLive) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTimeToLive))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient newsApiHttpClient(
+            PoolingHttpClientConnectionManager newsApiConnectionManager,
+            @Value("${news.api.http.connection-request-timeout:5s}") Duration connectionRequestTimeout,
+            @Value("${news.api.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${news.api.http.idle-connection-eviction:30s}") Duration idleConnectionEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(newsApiConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleConnectionEviction))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient newsApiHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(newsApiHttpClient));
+    }
+
+    @Bean
+    public MeterBinder newsApiConnectionPoolMetrics(PoolingHttpClientConnectionManager newsApiConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(newsApiConnectionManager, "newsapi");
+    }
+}
@@ -0,0 +1,49 @@
+package com.interview.news.domain.model.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Opaque continuation token for keyset pagination over articles ordered by (publishedAt DESC, id DESC).
+ * A null publishedAt marks a position among undated articles, which sort before every dated one.
+ */
+public record ArticleCursor(Instant publishedAt, long id) {
+
+    private static final String SEPARATOR = "|";
+    private static final String UNDATED = "-";
+
+    /**
+     * Orders articles the way cursors page through them, matching ORDER BY published_at DESC, id DESC,
+     * where Postgres puts undated articles first.
+     */
+    public static <T> Comparator<T> newestFirst(Function<T, Instant> publishedAt, Function<T, Long> id) {
+        return Comparator.comparing(publishedAt, Comparator.nullsFirst(Comparator.<Instant>reverseOrder()))
+                .thenComparing(id, Comparator.reverseOrder());
+    }
+
+    public static ArticleCursor fromSummary(ArticleSummaryDTO article) {
+        return new ArticleCursor(article.publishedAt(), article.id());
+    }
+
+    public static ArticleCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.lastIndexOf(SEPARATOR);
+            String publishedAt = decoded.substring(0, separatorIndex);
+            long id = Long.parseLong(decoded.substring(separatorIndex + 1));
+            return new ArticleCursor(UNDATED.equals(publishedAt) ? null : Instant.parse(publishedAt), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String publishedAtPart = publishedAt != null ? publishedAt.toString() : UNDATED;
+        String raw = publishedAtPart + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,38 @@
+package com.interview.news.domain.model.dto;
+
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Optional filters for stored articles; a null value leaves its filter out.
+ * Articles are matched by source name and by publication time in [from, to).
+ * Category and country are looked up on the source with the article's source name, as News API reports them in lower case.
+ */
+public record ArticleFilterDTO(String source, Instant from, Instant to, String category, String country) {
+
+    public static final ArticleFilterDTO NONE = new ArticleFilterDTO(null, null, null, null, null);
+
+    public ArticleFilterDTO {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("From param must be before to");
+        }
+        source = source == null || source.isBlank() ? null : source.trim();
+        category = normalize(category);
+        country = normalize(country);
+    }
+
+    public boolean isEmpty() {
+        return source == null && from == null && to == null && category == null && country == null;
+    }
+
+    public boolean needsSourceLookup() {
+        return category != null || country != null;
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
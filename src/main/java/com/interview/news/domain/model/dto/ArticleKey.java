@@ -0,0 +1,9 @@
+package com.interview.news.domain.model.dto;
+
+import java.time.Instant;
+
+/**
+ * The small identifying fields of an article, available while decoding before its large text fields are read.
+ */
+public record ArticleKey(String sourceId, String url, Instant publishedAt) {
+}
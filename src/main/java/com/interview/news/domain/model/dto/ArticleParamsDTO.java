@@ -1,9 +1,35 @@
 package com.interview.news.domain.model.dto;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
 public record ArticleParamsDTO(String country, String category, String sources) {
     public ArticleParamsDTO {
         if (sources != null && (country != null || category != null)) {
             throw new IllegalArgumentException("Source param cannot be mixed with other params");
         }
     }
+
+    /**
+     * Returns params that ask the upstream for the same headlines in one canonical form:
+     * trimmed, lower-cased, blank values dropped and sources de-duplicated and sorted.
+     */
+    public ArticleParamsDTO normalized() {
+        String normalizedSources = sources == null ? null : Arrays.stream(sources.split(","))
+                .map(ArticleParamsDTO::normalize)
+                .filter(source -> source != null)
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining(","));
+        return new ArticleParamsDTO(normalize(country), normalize(category),
+                normalizedSources == null || normalizedSources.isEmpty() ? null : normalizedSources);
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
 }
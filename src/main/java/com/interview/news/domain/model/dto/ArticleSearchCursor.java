@@ -0,0 +1,34 @@
+package com.interview.news.domain.model.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination over search hits ordered by (rank DESC, id DESC).
+ * The rank is kept as the exact float Postgres returned, so the next page starts right after the last hit.
+ */
+public record ArticleSearchCursor(float rank, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static ArticleSearchCursor fromHit(ArticleSearchHit hit) {
+        return new ArticleSearchCursor(hit.rank(), hit.article().getId());
+    }
+
+    public static ArticleSearchCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.lastIndexOf(SEPARATOR);
+            float rank = Float.intBitsToFloat(Integer.parseUnsignedInt(decoded.substring(0, separatorIndex), 16));
+            long id = Long.parseLong(decoded.substring(separatorIndex + 1));
+            return new ArticleSearchCursor(rank, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = Integer.toHexString(Float.floatToIntBits(rank)) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
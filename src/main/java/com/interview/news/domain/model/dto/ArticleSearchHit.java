@@ -0,0 +1,9 @@
+package com.interview.news.domain.model.dto;
+
+import com.interview.news.domain.model.entity.Article;
+
+/**
+ * Article matching a full-text search, with its ts_rank relevance.
+ */
+public record ArticleSearchHit(Article article, float rank) {
+}
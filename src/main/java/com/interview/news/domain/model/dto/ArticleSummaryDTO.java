@@ -0,0 +1,16 @@
+package com.interview.news.domain.model.dto;
+
+import com.interview.news.domain.model.entity.Article;
+
+import java.time.Instant;
+
+/**
+ * The columns a list of articles shows. Description and content are left out and loaded only by GET /api/news/{id}.
+ */
+public record ArticleSummaryDTO(Long id, String sourceName, String title, String url, String urlToImage, Instant publishedAt) {
+
+    public static ArticleSummaryDTO fromEntity(Article article) {
+        return new ArticleSummaryDTO(article.getId(), article.getSourceName(), article.getTitle(), article.getUrl(),
+                article.getUrlToImage(), article.getPublishedAt());
+    }
+}
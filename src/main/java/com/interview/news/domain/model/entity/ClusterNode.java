@@ -0,0 +1,20 @@
+package com.interview.news.domain.model.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Application instance taking part in scheduled refreshes, alive while its heartbeat is recent.
+ */
+@Entity
+@Data
+public class ClusterNode {
+
+    @Id
+    private String nodeId;
+
+    private Instant heartbeatAt;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
 
 @Entity
@@ -11,7 +12,8 @@ import lombok.Data;
 public class Source {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "source_id_seq")
+    @SequenceGenerator(name = "source_id_seq", sequenceName = "source_id_seq", allocationSize = 50)
     private Long id;
 
     private String sourceId;
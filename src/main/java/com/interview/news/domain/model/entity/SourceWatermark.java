@@ -0,0 +1,27 @@
+package com.interview.news.domain.model.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Newest publication time ingested for a source, together with the URLs published at exactly that time.
+ */
+@Entity
+@Data
+public class SourceWatermark {
+
+    @Id
+    private String sourceId;
+
+    private Instant latestPublishedAt;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    private List<String> latestUrls = new ArrayList<>();
+}
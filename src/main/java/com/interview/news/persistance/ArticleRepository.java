@@ -9,11 +9,11 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, Long> {
-    @Query(value = "SELECT * FROM article ORDER BY published_at DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
+public interface ArticleRepository extends JpaRepository<Article, Long>, ArticleRepositoryCustom {
+    @Query(value = "SELECT * FROM article ORDER BY published_at DESC, id DESC LIMIT :limit OFFSET :offset", nativeQuery = true)
     List<Article> findArticlesWithLimitAndOffset(@Param("limit") int limit, @Param("offset") int offset);
 
-    @Query("SELECT a.url FROM Article a")
-    List<String> findAllUrls();
+    @Query(value = "SELECT * FROM article WHERE id > :id ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Article> findArticlesAfterId(@Param("id") long id, @Param("limit") int limit);
 
 }
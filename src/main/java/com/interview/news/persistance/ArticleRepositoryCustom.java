@@ -0,0 +1,51 @@
+package com.interview.news.persistance;
+
+import com.interview.news.domain.model.dto.ArticleCursor;
+import com.interview.news.domain.model.dto.ArticleFilterDTO;
+import com.interview.news.domain.model.dto.ArticleSearchCursor;
+import com.interview.news.domain.model.dto.ArticleSearchHit;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
+import com.interview.news.domain.model.entity.Article;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ArticleRepositoryCustom {
+
+    /**
+     * Inserts the given articles, skipping every article whose URL is already stored.
+     * Deduplication is resolved by the unique URL hash index, so no URLs are loaded into memory.
+     * Returns only the articles that were actually written, with their generated ids set.
+     */
+    List<Article> insertIfAbsent(List<Article> articles);
+
+    /**
+     * Summaries of the articles matching the filter, ordered like GET /api/news by (publishedAt DESC, id DESC).
+     * Only the summary columns are read. A non-null cursor continues after its position; offset and limit apply after filtering.
+     */
+    List<ArticleSummaryDTO> findArticleSummaries(ArticleFilterDTO filter, ArticleCursor cursor, int offset, int limit);
+
+    /**
+     * Ids of the articles on the same page as {@link #findArticleSummaries}, without reading any other column.
+     */
+    List<Long> findArticleIds(ArticleFilterDTO filter, ArticleCursor cursor, int offset, int limit);
+
+    /**
+     * Streams articles published in [from, to) by the given source, oldest first; every null filter is left out.
+     * Rows are read through a server-side cursor, so the stream must be consumed and closed inside a transaction.
+     */
+    Stream<Article> streamArticles(Instant from, Instant to, String sourceName);
+
+    /**
+     * Full-text search over title, description and content, most relevant first.
+     * The query uses web search syntax ("quoted phrases", or, -excluded); title matches outrank description and content matches.
+     * A non-null cursor continues after the last hit of the previous page.
+     */
+    List<ArticleSearchHit> searchArticles(String query, ArticleSearchCursor after, int limit);
+
+    /**
+     * Articles containing every word of the query, newest first, ordered like GET /api/news.
+     */
+    List<Article> searchLatestArticles(String query, int limit);
+}
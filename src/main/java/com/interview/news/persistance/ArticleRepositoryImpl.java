@@ -0,0 +1,339 @@
+package com.interview.news.persistance;
+
+import com.interview.news.domain.model.dto.ArticleCursor;
+import com.interview.news.domain.model.dto.ArticleFilterDTO;
+import com.interview.news.domain.model.dto.ArticleSearchCursor;
+import com.interview.news.domain.model.dto.ArticleSearchHit;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
+import com.interview.news.domain.model.entity.Article;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+public class ArticleRepositoryImpl implements ArticleRepositoryCustom {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO article (source_name, author, title, description, url, url_to_image, published_at, content) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int INSERT_COLUMNS = 8;
+    /* The Postgres wire protocol counts bind parameters in a 16-bit field. */
+    private static final int MAX_BIND_PARAMETERS = 65535;
+    private static final String INSERT_SUFFIX = " ON CONFLICT ((md5(url))) DO NOTHING RETURNING id, url";
+
+    private static final String SEARCH_HITS = """
+            SELECT id, source_name, author, title, description, url, url_to_image, published_at, content, rank
+            FROM (SELECT a.*, ts_rank(a.search_vector, q.query) AS rank
+                  FROM article a, websearch_to_tsquery('english', ?) AS q(query)
+                  WHERE a.search_vector @@ q.query) hits
+            """;
+    private static final String LATEST_MATCHING = """
+            SELECT id, source_name, author, title, description, url, url_to_image, published_at, content
+            FROM article
+            WHERE search_vector @@ plainto_tsquery('english', ?)
+            ORDER BY published_at DESC, id DESC LIMIT ?
+            """;
+    private static final String SUMMARY_COLUMNS = "id, source_name, title, url, url_to_image, published_at";
+    private static final String SEARCH_AFTER_CURSOR = " WHERE (rank, id) < (?, ?)";
+    private static final String SEARCH_ORDER = " ORDER BY rank DESC, id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final int insertBatchSize;
+    private final int exportFetchSize;
+
+    public ArticleRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                 EntityManager entityManager,
+                                 @Value("${news.ingest.insert-batch-size:500}") int insertBatchSize,
+                                 @Value("${news.export.fetch-size:500}") int exportFetchSize) {
+        if (insertBatchSize < 1) {
+            throw new IllegalArgumentException("Insert batch size must be positive");
+        }
+        if ((long) insertBatchSize * INSERT_COLUMNS > MAX_BIND_PARAMETERS) {
+            throw new IllegalArgumentException("Insert batch size must be at most " + MAX_BIND_PARAMETERS / INSERT_COLUMNS
+                    + " rows, was: " + insertBatchSize);
+        }
+        if (exportFetchSize < 1) {
+            throw new IllegalArgumentException("Export fetch size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.insertBatchSize = insertBatchSize;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    /*
+        Articles are written as multi-row INSERT statements of up to insertBatchSize rows,
+        so a refresh costs one round trip per chunk instead of one per article.
+     */
+    @Override
+    public List<Article> insertIfAbsent(List<Article> articles) {
+        if (articles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Article> insertedArticles = new ArrayList<>();
+        for (int from = 0; from < articles.size(); from += insertBatchSize) {
+            List<Article> chunk = articles.subList(from, Math.min(from + insertBatchSize, articles.size()));
+            insertedArticles.addAll(insertChunk(chunk));
+        }
+        return insertedArticles;
+    }
+
+    /*
+        Only the given filters become predicates, so every combination is a range scan on one index:
+        (source_name, published_at DESC, id DESC) with a source name, (published_at DESC, id DESC) otherwise.
+        Category and country match several sources, whose articles no single index holds in page order;
+        see findPageOfSources for how those pages are read.
+     */
+    @Override
+    public List<ArticleSummaryDTO> findArticleSummaries(ArticleFilterDTO filter, ArticleCursor cursor, int offset, int limit) {
+        if (filter.needsSourceLookup()) {
+            return findPageOfSources(SUMMARY_COLUMNS, (rs, rowNum) -> new ArticleSummaryDTO(rs.getLong("id"),
+                    rs.getString("source_name"), rs.getString("title"), rs.getString("url"), rs.getString("url_to_image"),
+                    toInstant(rs.getTimestamp("published_at"))), filter, cursor, offset, limit);
+        }
+        return findPage(ArticleSummaryDTO.class, (cb, article) -> cb.construct(ArticleSummaryDTO.class,
+                article.get("id"), article.get("sourceName"), article.get("title"), article.get("url"),
+                article.get("urlToImage"), article.get("publishedAt")), filter, cursor, offset, limit);
+    }
+
+    /* Reads only columns of the page indexes, so Postgres can answer it with an index-only scan. */
+    @Override
+    public List<Long> findArticleIds(ArticleFilterDTO filter, ArticleCursor cursor, int offset, int limit) {
+        if (filter.needsSourceLookup()) {
+            return findPageOfSources("id", (rs, rowNum) -> rs.getLong("id"), filter, cursor, offset, limit);
+        }
+        return findPage(Long.class, (cb, article) -> article.get("id"), filter, cursor, offset, limit);
+    }
+
+    private <T> List<T> findPage(Class<T> resultType,
+                                 BiFunction<CriteriaBuilder, Root<Article>, Selection<? extends T>> selection,
+                                 ArticleFilterDTO filter, ArticleCursor cursor, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(resultType);
+        Root<Article> article = query.from(Article.class);
+        Path<Instant> publishedAt = article.get("publishedAt");
+        Path<Long> id = article.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.source() != null) {
+            predicates.add(cb.equal(article.get("sourceName"), filter.source()));
+        }
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(publishedAt, filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThan(publishedAt, filter.to()));
+        }
+        if (cursor != null) {
+            predicates.add(before(cb, publishedAt, id, cursor));
+        }
+
+        query.select(selection.apply(cb, article))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(publishedAt), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /*
+        A plain source_name IN (subquery) is planned as a semi-join followed by a sort of every matching article.
+        Instead, a lateral join reads at most offset + limit rows per matching source from the
+        (source_name, published_at DESC, id DESC) index, already in page order, and only those few are merged and sorted.
+        Sources sharing a name are read once.
+     */
+    private <T> List<T> findPageOfSources(String columns, RowMapper<T> rowMapper,
+                                          ArticleFilterDTO filter, ArticleCursor cursor, int offset, int limit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns)
+                .append(" FROM (SELECT DISTINCT name FROM source WHERE 1 = 1");
+        if (filter.category() != null) {
+            sql.append(" AND category = ?");
+            params.add(filter.category());
+        }
+        if (filter.country() != null) {
+            sql.append(" AND country = ?");
+            params.add(filter.country());
+        }
+        if (filter.source() != null) {
+            sql.append(" AND name = ?");
+            params.add(filter.source());
+        }
+        sql.append(") s CROSS JOIN LATERAL (SELECT ").append(SUMMARY_COLUMNS)
+                .append(" FROM article WHERE source_name = s.name");
+        if (filter.from() != null) {
+            sql.append(" AND published_at >= ?");
+            params.add(Timestamp.from(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND published_at < ?");
+            params.add(Timestamp.from(filter.to()));
+        }
+        if (cursor != null && cursor.publishedAt() == null) {
+            sql.append(" AND ((published_at IS NULL AND id < ?) OR published_at IS NOT NULL)");
+            params.add(cursor.id());
+        } else if (cursor != null) {
+            sql.append(" AND published_at <= ? AND (published_at < ? OR id < ?)");
+            params.add(Timestamp.from(cursor.publishedAt()));
+            params.add(Timestamp.from(cursor.publishedAt()));
+            params.add(cursor.id());
+        }
+        sql.append(" ORDER BY published_at DESC, id DESC LIMIT ?) a ORDER BY published_at DESC, id DESC LIMIT ? OFFSET ?");
+        params.add((long) offset + limit);
+        params.add(limit);
+        params.add(offset);
+        return jdbcTemplate.query(sql.toString(), rowMapper, params.toArray());
+    }
+
+    /*
+        Undated articles sort before every dated one, as Postgres puts nulls first in descending order.
+        For a dated cursor, published_at <= cursor bounds the index range scan and the OR only settles ties on the same instant.
+     */
+    private Predicate before(CriteriaBuilder cb, Path<Instant> publishedAt, Path<Long> id, ArticleCursor cursor) {
+        if (cursor.publishedAt() == null) {
+            return cb.or(cb.and(cb.isNull(publishedAt), cb.lessThan(id, cursor.id())), cb.isNotNull(publishedAt));
+        }
+        return cb.and(cb.lessThanOrEqualTo(publishedAt, cursor.publishedAt()),
+                cb.or(cb.lessThan(publishedAt, cursor.publishedAt()), cb.lessThan(id, cursor.id())));
+    }
+
+    /*
+        Only the filters that were given end up in the query, so no null parameter has to be typed for Postgres.
+        The fetch size makes the Postgres driver read the result through a cursor in chunks,
+        which only happens inside a transaction.
+     */
+    @Override
+    public Stream<Article> streamArticles(Instant from, Instant to, String sourceName) {
+        StringBuilder jpql = new StringBuilder("SELECT a FROM Article a WHERE 1 = 1");
+        if (from != null) {
+            jpql.append(" AND a.publishedAt >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND a.publishedAt < :to");
+        }
+        if (sourceName != null) {
+            jpql.append(" AND a.sourceName = :sourceName");
+        }
+        jpql.append(" ORDER BY a.publishedAt, a.id");
+
+        TypedQuery<Article> query = entityManager.createQuery(jpql.toString(), Article.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (sourceName != null) {
+            query.setParameter("sourceName", sourceName);
+        }
+        return query.getResultStream();
+    }
+
+    /*
+        The GIN index on search_vector finds the matching rows; only those are ranked.
+        A cursor continues strictly after the last hit of the previous page, ranks tied on the same float broken by id.
+     */
+    @Override
+    public List<ArticleSearchHit> searchArticles(String query, ArticleSearchCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(SEARCH_HITS + SEARCH_ORDER, this::mapSearchHit, query, limit);
+        }
+        return jdbcTemplate.query(SEARCH_HITS + SEARCH_AFTER_CURSOR + SEARCH_ORDER, this::mapSearchHit,
+                query, after.rank(), after.id(), limit);
+    }
+
+    @Override
+    public List<Article> searchLatestArticles(String query, int limit) {
+        return jdbcTemplate.query(LATEST_MATCHING, (rs, rowNum) -> mapArticle(rs), query, limit);
+    }
+
+    private ArticleSearchHit mapSearchHit(ResultSet rs, int rowNum) throws SQLException {
+        return new ArticleSearchHit(mapArticle(rs), rs.getFloat("rank"));
+    }
+
+    private Article mapArticle(ResultSet rs) throws SQLException {
+        Article article = new Article();
+        article.setId(rs.getLong("id"));
+        article.setSourceName(rs.getString("source_name"));
+        article.setAuthor(rs.getString("author"));
+        article.setTitle(rs.getString("title"));
+        article.setDescription(rs.getString("description"));
+        article.setUrl(rs.getString("url"));
+        article.setUrlToImage(rs.getString("url_to_image"));
+        article.setPublishedAt(toInstant(rs.getTimestamp("published_at")));
+        article.setContent(rs.getString("content"));
+        return article;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toInstant() : null;
+    }
+
+    private List<Article> insertChunk(List<Article> chunk) {
+        String sql = INSERT_PREFIX + String.join(", ", Collections.nCopies(chunk.size(), ROW_PLACEHOLDER)) + INSERT_SUFFIX;
+        List<InsertedRow> insertedRows = jdbcTemplate.query(sql,
+                ps -> bindChunk(ps, chunk),
+                (rs, rowNum) -> new InsertedRow(rs.getLong("id"), rs.getString("url")));
+        return assignGeneratedIds(chunk, insertedRows);
+    }
+
+    private void bindChunk(PreparedStatement ps, List<Article> chunk) throws SQLException {
+        int index = 1;
+        for (Article article : chunk) {
+            ps.setString(index++, article.getSourceName());
+            ps.setString(index++, article.getAuthor());
+            ps.setString(index++, article.getTitle());
+            ps.setString(index++, article.getDescription());
+            ps.setString(index++, article.getUrl());
+            ps.setString(index++, article.getUrlToImage());
+            ps.setTimestamp(index++, article.getPublishedAt() != null ? Timestamp.from(article.getPublishedAt()) : null);
+            ps.setString(index++, article.getContent());
+        }
+    }
+
+    /*
+        RETURNING gives no guarantee about row order, so every generated id is matched to its article by URL.
+        A URL repeated within the chunk is only inserted once, for its first occurrence.
+     */
+    private List<Article> assignGeneratedIds(List<Article> chunk, List<InsertedRow> insertedRows) {
+        Map<String, Long> idsByUrl = new HashMap<>();
+        insertedRows.forEach(row -> idsByUrl.put(row.url(), row.id()));
+        List<Article> insertedArticles = new ArrayList<>(insertedRows.size());
+        for (Article article : chunk) {
+            Long id = idsByUrl.remove(article.getUrl());
+            if (id != null) {
+                article.setId(id);
+                insertedArticles.add(article);
+            }
+        }
+        return insertedArticles;
+    }
+
+    private record InsertedRow(long id, String url) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.interview.news.persistance;
+
+import com.interview.news.domain.model.entity.SourceWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SourceWatermarkRepository extends JpaRepository<SourceWatermark, String> {
+}
@@ -0,0 +1,6 @@
+DELETE FROM article duplicate
+    USING article original
+WHERE duplicate.url = original.url
+  AND duplicate.id > original.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_article_url_hash ON article (md5(url));
@@ -0,0 +1 @@
+ALTER SEQUENCE source_id_seq INCREMENT BY 50;
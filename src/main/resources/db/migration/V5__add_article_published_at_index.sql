@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_article_published_at_id ON article (published_at DESC, id DESC);
@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS source_watermark (
+    source_id VARCHAR(255) PRIMARY KEY REFERENCES source (source_id) ON DELETE CASCADE,
+    latest_published_at TIMESTAMP NOT NULL,
+    latest_urls TEXT[] NOT NULL
+);
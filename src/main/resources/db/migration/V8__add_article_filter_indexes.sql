@@ -0,0 +1,4 @@
+CREATE INDEX IF NOT EXISTS idx_article_source_name_published_at_id ON article (source_name, published_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_source_category_country ON source (category, country) INCLUDE (name);
+CREATE INDEX IF NOT EXISTS idx_source_country ON source (country) INCLUDE (name);
@@ -0,0 +1,4 @@
+CREATE TABLE IF NOT EXISTS cluster_node (
+    node_id VARCHAR(255) PRIMARY KEY,
+    heartbeat_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,94 @@
+package com.interview.news.api.controller;
+
+import com.interview.news.BaseDatabaseTest;
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/* Compression is applied by the embedded Tomcat, which MockMvc bypasses, so these requests go through a real port. */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"news.recent-window.size=0", "news.search.recent-index.size=0"})
+@Testcontainers
+class NewsControllerCompressionTest extends BaseDatabaseTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @AfterEach
+    void cleanDatabase() {
+        articleRepository.deleteAll();
+    }
+
+    @Test
+    void shouldGzipLargeNewsPage() throws Exception {
+        prepareDatabaseWithMultipleArticles(50);
+
+        HttpResponse<byte[]> response = get("/api/news?limit=50");
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/\""));
+        String body = new String(new GZIPInputStream(new ByteArrayInputStream(response.body())).readAllBytes());
+        assertTrue(body.contains("Article Title 50"));
+    }
+
+    @Test
+    void shouldGzipLargeArticle() throws Exception {
+        prepareDatabaseWithMultipleArticles(1);
+        long id = articleRepository.findAll().getFirst().getId();
+
+        HttpResponse<byte[]> response = get("/api/news/" + id);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    }
+
+    private HttpResponse<byte[]> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private void prepareDatabaseWithMultipleArticles(final int count) {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Article article = new Article();
+            article.setSourceName("Source " + i);
+            article.setAuthor("Author " + i);
+            article.setTitle("Article Title " + i);
+            article.setDescription("Description for article " + i);
+            article.setUrl("http://example.com/article" + i);
+            article.setUrlToImage("http://example.com/image" + i + ".jpg");
+            article.setPublishedAt(Instant.parse("2024-10-24T10:00:00Z").plusSeconds(i * 60));
+            article.setContent("Content for article " + i + ". " + "Lorem ipsum dolor sit amet. ".repeat(100));
+            articles.add(article);
+        }
+        articleRepository.saveAll(articles);
+    }
+}
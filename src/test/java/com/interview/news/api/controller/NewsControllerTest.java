@@ -3,6 +3,7 @@ package com.interview.news.api.controller;
 import com.interview.news.BaseDatabaseTest;
 import com.interview.news.api.exception.ExternalUnauthorizedException;
 import com.interview.news.api.service.NewsExternalServiceIntegration;
+import com.interview.news.config.CacheConfig;
 import com.interview.news.domain.model.dto.ArticleDTO;
 import com.interview.news.domain.model.dto.ArticleParamsDTO;
 import com.interview.news.domain.model.dto.SourceDTO;
@@ -15,8 +16,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Instant;
@@ -24,16 +28,22 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+/* Articles are seeded straight through the repository, which the in-memory recent articles window and index never see. */
+@SpringBootTest(properties = {"news.recent-window.size=0", "news.search.recent-index.size=0"})
 @AutoConfigureMockMvc
 @Testcontainers
 class NewsControllerTest extends BaseDatabaseTest {
@@ -47,9 +57,13 @@ class NewsControllerTest extends BaseDatabaseTest {
     @MockBean
     private NewsExternalServiceIntegration newsExternalServiceIntegration;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @AfterEach
     void cleanDatabase() {
         articleRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
     }
 
     @Test
@@ -111,6 +125,132 @@ class NewsControllerTest extends BaseDatabaseTest {
                 .andExpect(jsonPath("$[4].title").value("Article Title 2"));
     }
 
+    @Test
+    void shouldContinueFromCursorOfPreviousPage() throws Exception {
+        prepareDatabaseWithMultipleArticles(10);
+
+        String nextCursor = mockMvc.perform(get("/api/news")
+                        .param("limit", "4")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[3].title").value("Article Title 7"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/news")
+                        .param("limit", "4")
+                        .param("cursor", nextCursor)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].title").value("Article Title 6"))
+                .andExpect(jsonPath("$[1].title").value("Article Title 5"))
+                .andExpect(jsonPath("$[2].title").value("Article Title 4"))
+                .andExpect(jsonPath("$[3].title").value("Article Title 3"));
+    }
+
+    @Test
+    void shouldListSummariesAndReturnWholeArticleById() throws Exception {
+        prepareDatabaseWithMultipleArticles(1);
+        Long id = articleRepository.findAll().get(0).getId();
+
+        mockMvc.perform(get("/api/news")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(id))
+                .andExpect(jsonPath("$[0].title").value("Article Title 1"))
+                .andExpect(jsonPath("$[0].content").doesNotExist())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+
+        mockMvc.perform(get("/api/news/" + id)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value("Content for article 1"));
+
+        mockMvc.perform(get("/api/news/" + (id + 1))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldAnswerWildcardIfNoneMatchOnlyForExistingArticle() throws Exception {
+        prepareDatabaseWithMultipleArticles(1);
+        Long id = articleRepository.findAll().get(0).getId();
+
+        mockMvc.perform(get("/api/news/" + id)
+                        .header("If-None-Match", "*"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"" + id + "\""));
+
+        mockMvc.perform(get("/api/news/" + (id + 1))
+                        .header("If-None-Match", "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedUntilPageChanges() throws Exception {
+        prepareDatabaseWithMultipleArticles(3);
+
+        String etag = mockMvc.perform(get("/api/news")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/news")
+                        .param("limit", "2")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        Article newest = new Article();
+        newest.setTitle("Article Title 4");
+        newest.setUrl("http://example.com/article4");
+        newest.setPublishedAt(Instant.parse("2024-10-24T11:00:00Z"));
+        articleRepository.save(newest);
+        cacheManager.getCache(CacheConfig.NEWS_PAGES_CACHE).clear();
+
+        mockMvc.perform(get("/api/news")
+                        .param("limit", "2")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Article Title 4"));
+    }
+
+    @Test
+    void shouldFilterNewsBySourceAndDateRange() throws Exception {
+        prepareDatabaseWithMultipleArticles(10);
+
+        mockMvc.perform(get("/api/news")
+                        .param("source", "Source 6")
+                        .param("from", "2024-10-24T10:00:00Z")
+                        .param("to", "2024-10-24T11:00:00Z")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Article Title 6"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/news")
+                        .param("cursor", "not-a-cursor")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenCursorAndOffsetAreUsedTogether() throws Exception {
+        mockMvc.perform(get("/api/news")
+                        .param("offset", "5")
+                        .param("cursor", "MjAyNC0xMC0yNFQxMDowMDowMFp8NDI")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Cursor param cannot be mixed with offset"));
+    }
+
     @Test
     void shouldFetchAndSaveArticlesWhenOnlyCountryIsUsed() throws Exception {
         prepareMockedResponse();
@@ -161,6 +301,106 @@ class NewsControllerTest extends BaseDatabaseTest {
                 .andExpect(content().string("Source param cannot be mixed with other params"));
     }
 
+    @Test
+    void shouldPageThroughSearchResultsWithCursor() throws Exception {
+        prepareDatabaseWithMultipleArticles(3);
+
+        String nextCursor = mockMvc.perform(get("/api/news/search")
+                        .param("q", "article")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].content").doesNotExist())
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/news/search")
+                        .param("q", "article")
+                        .param("limit", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void shouldReturnLatestArticlesMatchingEveryWord() throws Exception {
+        prepareDatabaseWithMultipleArticles(3);
+
+        mockMvc.perform(get("/api/news/search/latest")
+                        .param("q", "article title")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Article Title 3"))
+                .andExpect(jsonPath("$[1].title").value("Article Title 2"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnBadRequestForBlankSearchQuery() throws Exception {
+        mockMvc.perform(get("/api/news/search")
+                        .param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Search query cannot be blank"));
+    }
+
+    @Test
+    void shouldExportArticlesInRangeAsNdjson() throws Exception {
+        prepareDatabaseWithMultipleArticles(10);
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/news/export")
+                        .param("from", "2024-10-24T10:02:00Z")
+                        .param("to", "2024-10-24T10:05:00Z"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"Article Title 2\""));
+        assertTrue(lines[2].contains("\"title\":\"Article Title 4\""));
+    }
+
+    @Test
+    void shouldNotGzipExportRefusedWithZeroQuality() throws Exception {
+        prepareDatabaseWithMultipleArticles(1);
+
+        MvcResult asyncResult = mockMvc.perform(get("/api/news/export")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void shouldParseGzipQualityInAcceptEncoding() {
+        assertTrue(NewsController.acceptsGzip("gzip, deflate"));
+        assertTrue(NewsController.acceptsGzip("deflate;q=1.0, GZIP;q=0.5"));
+        assertTrue(NewsController.acceptsGzip("*"));
+        assertFalse(NewsController.acceptsGzip("gzip;q=0"));
+        assertFalse(NewsController.acceptsGzip("gzip;q=0.000, *"));
+        assertFalse(NewsController.acceptsGzip("identity"));
+        assertFalse(NewsController.acceptsGzip(null));
+    }
+
+    @Test
+    void shouldReturnBadRequestForEmptyExportRange() throws Exception {
+        mockMvc.perform(get("/api/news/export")
+                        .param("from", "2024-10-24T10:05:00Z")
+                        .param("to", "2024-10-24T10:05:00Z"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("From param must be before to"));
+    }
+
     private void prepareMockedResponse() {
         SourceDTO source1 = new SourceDTO("zoo-tv", "ZOO TV");
         SourceDTO source2 = new SourceDTO("middle-earth-chronicle", "Middle-Earth Chronicle");
@@ -0,0 +1,46 @@
+package com.interview.news.api.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/*
+    The container is wired as a service connection, which overrides spring.datasource.* for the pool only.
+    The datasource URL points nowhere, so the recent window only warms up if the change feed listens
+    through the same connection details as the pool.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:postgresql://localhost:1/nowhere",
+        "news.schedule.articles-cron=-",
+        "news.schedule.sources-cron=-"
+})
+@Testcontainers
+class ArticleChangeFeedServiceConnectionTest {
+
+    @Container
+    @ServiceConnection
+    private static final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>("postgres:latest");
+
+    @Autowired
+    private RecentArticlesWindow recentArticlesWindow;
+
+    @Test
+    void shouldListenOnTheServiceConnectionDatabase() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (recentArticlesWindow.page(10, 0).isPresent()) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Change feed did not connect to the service connection database within 10 seconds");
+    }
+}
@@ -0,0 +1,141 @@
+package com.interview.news.api.service;
+
+import com.interview.news.NewsApplication;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/* This context is node-a; node-b is a separate application context saving articles into the same Postgres container. */
+@SpringBootTest(properties = {
+        "news.cluster.node-id=node-a",
+        "news.schedule.articles-cron=-",
+        "news.schedule.sources-cron=-"
+})
+@Testcontainers
+class ArticleChangeFeedTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("feeddb")
+                    .withUsername("user")
+                    .withPassword("password");
+
+    @DynamicPropertySource
+    static void setDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private RecentArticlesWindow recentArticlesWindow;
+
+    @Autowired
+    private RecentArticlesIndex recentArticlesIndex;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private ConfigurableApplicationContext contextB;
+
+    @BeforeEach
+    void startOtherNode() {
+        contextB = new SpringApplicationBuilder(NewsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgresContainer.getJdbcUrl(),
+                        "spring.datasource.username=" + postgresContainer.getUsername(),
+                        "spring.datasource.password=" + postgresContainer.getPassword(),
+                        "news.cluster.node-id=node-b",
+                        "news.schedule.articles-cron=-",
+                        "news.schedule.sources-cron=-")
+                .run();
+    }
+
+    @AfterEach
+    void stopOtherNode() {
+        contextB.close();
+        articleRepository.deleteAll();
+    }
+
+    @Test
+    void shouldShowArticlesSavedByAnotherInstance() {
+        Article article = new Article();
+        article.setTitle("Penguins elected to the Shire council");
+        article.setUrl("https://zoo-tv.com/penguins-council");
+        article.setPublishedAt(Instant.now());
+        saveOnNodeB(article);
+
+        List<ArticleSummaryDTO> firstPage = await(() -> recentArticlesWindow.page(10, 0)
+                .filter(page -> !page.isEmpty()));
+        assertEquals("Penguins elected to the Shire council", firstPage.getFirst().title());
+        List<Article> hits = await(() -> recentArticlesIndex.search("council", 10).filter(page -> !page.isEmpty()));
+        assertEquals(1, hits.size());
+    }
+
+    @Test
+    void shouldNotNotifyForRolledBackWrite() throws InterruptedException {
+        TransactionTemplate transactionTemplate = contextB.getBean(TransactionTemplate.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            Article article = new Article();
+            article.setTitle("Penguins that never were");
+            article.setUrl("https://zoo-tv.com/never");
+            List<Article> saved = contextB.getBean(ArticleRepository.class).insertIfAbsent(List.of(article));
+            contextB.publishEvent(new ArticlesIngestedEvent(saved));
+            status.setRollbackOnly();
+        });
+
+        Thread.sleep(2000);
+        assertTrue(await(() -> recentArticlesWindow.page(10, 0)).isEmpty());
+    }
+
+    private void saveOnNodeB(Article article) {
+        TransactionTemplate transactionTemplate = contextB.getBean(TransactionTemplate.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Article> saved = contextB.getBean(ArticleRepository.class).insertIfAbsent(List.of(article));
+            contextB.publishEvent(new ArticlesIngestedEvent(saved));
+        });
+    }
+
+    private static <T> T await(Supplier<Optional<T>> condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            Optional<T> result = condition.get();
+            if (result.isPresent()) {
+                return result.get();
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return fail("Condition not met within 10 seconds");
+    }
+}
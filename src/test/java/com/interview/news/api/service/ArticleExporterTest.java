@@ -0,0 +1,146 @@
+package com.interview.news.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.news.api.exception.ExternalServiceUnavailableException;
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleExporterTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ArticleExporter articleExporter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        articleExporter = new ArticleExporter(articleRepository, entityManager, objectMapper, transactionManager, 2, 1);
+    }
+
+    @Test
+    void shouldWriteOneArticlePerLineAndCloseCursor() throws IOException {
+        Instant from = Instant.parse("2024-10-01T00:00:00Z");
+        AtomicBoolean cursorClosed = new AtomicBoolean();
+        when(articleRepository.streamArticles(from, null, "ZOO TV")).thenReturn(Stream.of(
+                article(1, "2024-10-24T10:00:00Z"), article(2, null), article(3, "2024-10-24T11:00:00Z"))
+                .onClose(() -> cursorClosed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = articleExporter.export(from, null, "ZOO TV", out, false);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, exported);
+        assertEquals(4, lines.length);
+        assertEquals("", lines[3]);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("2024-10-24T10:00:00Z", first.get("publishedAt").asText());
+        assertTrue(objectMapper.readTree(lines[1]).get("publishedAt").isNull());
+        assertTrue(cursorClosed.get());
+        verify(entityManager, times(3)).detach(any(Article.class));
+    }
+
+    @Test
+    void shouldGzipExportWhenRequested() throws IOException {
+        when(articleRepository.streamArticles(null, null, null)).thenReturn(Stream.of(article(1, "2024-10-24T10:00:00Z")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        articleExporter.export(null, null, null, out, true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(body.endsWith("\n"));
+            assertEquals("Title 1", objectMapper.readTree(body.trim()).get("title").asText());
+        }
+    }
+
+    @Test
+    void shouldRejectEmptyRange() {
+        Instant instant = Instant.parse("2024-10-24T10:00:00Z");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> articleExporter.export(instant, instant, null, new ByteArrayOutputStream(), false));
+        verify(articleRepository, never()).streamArticles(any(), any(), any());
+    }
+
+    @Test
+    void shouldRefuseExportsBeyondConcurrencyLimitUntilOneFinishes() throws IOException {
+        when(articleRepository.streamArticles(null, null, null)).thenReturn(Stream.of(article(1, "2024-10-24T10:00:00Z")));
+        StreamingResponseBody reserved = articleExporter.reserve(null, null, null, false);
+
+        assertThrows(ExternalServiceUnavailableException.class, () -> articleExporter.reserve(null, null, null, false));
+
+        reserved.writeTo(new ByteArrayOutputStream());
+        assertDoesNotThrow(() -> articleExporter.reserve(null, null, null, false));
+    }
+
+    @Test
+    void shouldGiveSlotBackOnceWhenReservationIsReleasedWithoutRunning() {
+        ArticleExporter.Reservation reserved = articleExporter.reserve(null, null, null, false);
+
+        reserved.release();
+        reserved.release();
+
+        assertDoesNotThrow(() -> articleExporter.reserve(null, null, null, false));
+        assertThrows(ExternalServiceUnavailableException.class, () -> articleExporter.reserve(null, null, null, false));
+        verify(articleRepository, never()).streamArticles(any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectEmptyRangeBeforeTakingSlot() {
+        Instant instant = Instant.parse("2024-10-24T10:00:00Z");
+
+        assertThrows(IllegalArgumentException.class, () -> articleExporter.reserve(instant, instant, null, false));
+        assertDoesNotThrow(() -> articleExporter.reserve(null, null, null, false));
+    }
+
+    private Article article(long id, String publishedAt) {
+        Article article = new Article();
+        article.setId(id);
+        article.setSourceName("ZOO TV");
+        article.setTitle("Title " + id);
+        article.setUrl("https://example.com/" + id);
+        article.setPublishedAt(publishedAt != null ? Instant.parse(publishedAt) : null);
+        return article;
+    }
+}
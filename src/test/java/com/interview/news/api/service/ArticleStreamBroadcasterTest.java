@@ -0,0 +1,137 @@
+package com.interview.news.api.service;
+
+import com.interview.news.api.exception.ExternalServiceUnavailableException;
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+class ArticleStreamBroadcasterTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    private ArticleStreamBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        broadcaster = new ArticleStreamBroadcaster(articleRepository, Duration.ofMinutes(1), 2, 4, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void shouldPushCommittedArticlesToEverySubscriber() throws InterruptedException {
+        RecordingEmitter first = new RecordingEmitter(2);
+        RecordingEmitter second = new RecordingEmitter(2);
+        broadcaster.subscribe(first, null);
+        broadcaster.subscribe(second, null);
+
+        broadcaster.onArticlesIngested(new ArticlesIngestedEvent(List.of(article(2), article(1))));
+
+        assertEquals(List.of("1", "2"), first.awaitEventIds());
+        assertEquals(List.of("1", "2"), second.awaitEventIds());
+    }
+
+    @Test
+    void shouldReplayMissedArticlesBeforeLiveOnes() throws InterruptedException {
+        CountDownLatch committedDuringReplay = new CountDownLatch(1);
+        when(articleRepository.findArticlesAfterId(5, 100)).thenAnswer(invocation -> {
+            committedDuringReplay.await(5, TimeUnit.SECONDS);
+            return List.of(article(6), article(7));
+        });
+        RecordingEmitter emitter = new RecordingEmitter(3);
+
+        broadcaster.subscribe(emitter, 5L);
+        broadcaster.onArticlesIngested(new ArticlesIngestedEvent(List.of(article(7), article(8))));
+        committedDuringReplay.countDown();
+
+        assertEquals(List.of("6", "7", "8"), emitter.awaitEventIds());
+    }
+
+    @Test
+    void shouldDropSubscriberThatFallsBehind() throws InterruptedException {
+        BlockedEmitter slow = new BlockedEmitter();
+        broadcaster.subscribe(slow, null);
+
+        broadcaster.onArticlesIngested(new ArticlesIngestedEvent(List.of(article(1))));
+        slow.sendStarted.await(5, TimeUnit.SECONDS);
+        broadcaster.onArticlesIngested(new ArticlesIngestedEvent(IntStream.rangeClosed(2, 6).mapToObj(ArticleStreamBroadcasterTest::article).toList()));
+
+        assertEquals(0, broadcaster.subscriberCount());
+        slow.release.countDown();
+    }
+
+    @Test
+    void shouldRejectSubscribersBeyondLimit() {
+        broadcaster.subscribe(new RecordingEmitter(0), null);
+        broadcaster.subscribe(new RecordingEmitter(0), null);
+
+        assertThrows(ExternalServiceUnavailableException.class, () -> broadcaster.subscribe(new RecordingEmitter(0), null));
+    }
+
+    private static Article article(long id) {
+        Article article = new Article();
+        article.setId(id);
+        article.setUrl("https://example.com/" + id);
+        return article;
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> eventIds = new CopyOnWriteArrayList<>();
+        private final CountDownLatch expectedEvents;
+
+        RecordingEmitter(int expectedEvents) {
+            this.expectedEvents = new CountDownLatch(expectedEvents);
+        }
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) {
+            items.stream()
+                    .map(item -> item.getData().toString())
+                    .filter(data -> data.startsWith("id:"))
+                    .forEach(data -> eventIds.add(data.substring(3, data.indexOf('\n'))));
+            expectedEvents.countDown();
+        }
+
+        List<String> awaitEventIds() throws InterruptedException {
+            expectedEvents.await(5, TimeUnit.SECONDS);
+            return eventIds;
+        }
+    }
+
+    private static class BlockedEmitter extends SseEmitter {
+        private final CountDownLatch sendStarted = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            sendStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
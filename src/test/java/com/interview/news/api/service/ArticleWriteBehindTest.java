@@ -0,0 +1,190 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ArticleWriteBehindTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ArticleWriteBehind articleWriteBehind;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        articleWriteBehind.shutdown();
+    }
+
+    @Test
+    void shouldWriteSubmissionsFromManyFetchersInOneBatch() {
+        articleWriteBehind = writeBehind(16, 6, Duration.ofSeconds(5));
+        when(articleRepository.insertIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<Article> articles = invocation.getArgument(0);
+            return articles.stream().filter(article -> !article.getUrl().endsWith("/0-0")).toList();
+        });
+
+        List<CompletableFuture<List<Article>>> saved = IntStream.range(0, 3)
+                .mapToObj(fetcher -> articleWriteBehind.submit(articles(fetcher, 2)))
+                .toList();
+
+        assertEquals(1, saved.get(0).join().size());
+        assertEquals(2, saved.get(1).join().size());
+        assertEquals(2, saved.get(2).join().size());
+        verify(articleRepository, times(1)).insertIfAbsent(anyList());
+        verify(eventPublisher, times(1)).publishEvent(any(ArticlesIngestedEvent.class));
+        assertEquals(6, meterRegistry.get("news.ingest.write_behind.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void shouldFlushPartialBatchAfterLinger() {
+        articleWriteBehind = writeBehind(16, 1000, Duration.ofMillis(20));
+        when(articleRepository.insertIfAbsent(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Article> saved = articleWriteBehind.submit(articles(0, 3)).orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertEquals(3, saved.size());
+    }
+
+    @Test
+    void shouldFailEverySubmissionOfFailedBatch() {
+        articleWriteBehind = writeBehind(16, 2, Duration.ofSeconds(5));
+        when(articleRepository.insertIfAbsent(anyList())).thenThrow(new IllegalStateException("Database is down"));
+
+        CompletableFuture<List<Article>> first = articleWriteBehind.submit(articles(0, 1));
+        CompletableFuture<List<Article>> second = articleWriteBehind.submit(articles(1, 1));
+
+        assertInstanceOf(IllegalStateException.class, assertThrows(CompletionException.class, first::join).getCause());
+        assertInstanceOf(IllegalStateException.class, assertThrows(CompletionException.class, second::join).getCause());
+    }
+
+    @Test
+    void shouldRetrySubmissionsOfFailedBatchOneByOne() {
+        articleWriteBehind = writeBehind(16, 2, Duration.ofSeconds(5));
+        List<String> watermarks = new CopyOnWriteArrayList<>();
+        when(articleRepository.insertIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<Article> articles = invocation.getArgument(0);
+            if (articles.stream().anyMatch(article -> article.getUrl().startsWith("https://example.com/0-"))) {
+                throw new IllegalArgumentException("Value too long for url");
+            }
+            return articles;
+        });
+
+        CompletableFuture<List<Article>> bad = articleWriteBehind.submit(articles(0, 1), () -> watermarks.add("bad"));
+        CompletableFuture<List<Article>> good = articleWriteBehind.submit(articles(1, 2), () -> watermarks.add("good"));
+
+        assertEquals(2, good.orTimeout(5, TimeUnit.SECONDS).join().size());
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(CompletionException.class,
+                () -> bad.orTimeout(5, TimeUnit.SECONDS).join()).getCause());
+        assertEquals(List.of("good"), watermarks);
+        verify(articleRepository, times(3)).insertIfAbsent(anyList());
+    }
+
+    @Test
+    void shouldPushBackOnFetchersWhenQueueIsFull() throws InterruptedException {
+        articleWriteBehind = writeBehind(1, 1, Duration.ZERO);
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(articleRepository.insertIfAbsent(anyList())).thenAnswer(invocation -> {
+            writerBlocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+
+        articleWriteBehind.submit(articles(0, 1));
+        writerBlocked.await(5, TimeUnit.SECONDS);
+        articleWriteBehind.submit(articles(1, 1));
+
+        assertEquals(1.0, meterRegistry.get("news.ingest.write_behind.queue.depth").gauge().value());
+        assertThrows(IllegalStateException.class, () -> articleWriteBehind.submit(articles(2, 1)));
+        release.countDown();
+    }
+
+    @Test
+    void shouldRunSubmitterWorkInsideBatchTransaction() {
+        articleWriteBehind = writeBehind(16, 1, Duration.ZERO);
+        List<String> calls = new CopyOnWriteArrayList<>();
+        when(articleRepository.insertIfAbsent(anyList())).thenAnswer(invocation -> {
+            calls.add("insert");
+            return invocation.getArgument(0);
+        });
+
+        articleWriteBehind.submit(articles(0, 1), () -> calls.add("watermark")).orTimeout(5, TimeUnit.SECONDS).join();
+
+        assertEquals(List.of("insert", "watermark"), calls);
+    }
+
+    @Test
+    void shouldFailQueuedSubmissionsWhenWriterDies() throws InterruptedException {
+        articleWriteBehind = writeBehind(16, 1, Duration.ZERO);
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(articleRepository.insertIfAbsent(anyList())).thenAnswer(invocation -> {
+            writerBlocked.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw new StackOverflowError("Writer failure");
+        });
+
+        CompletableFuture<List<Article>> writing = articleWriteBehind.submit(articles(0, 1));
+        writerBlocked.await(5, TimeUnit.SECONDS);
+        CompletableFuture<List<Article>> queued = articleWriteBehind.submit(articles(1, 1));
+        release.countDown();
+
+        assertInstanceOf(StackOverflowError.class, assertThrows(CompletionException.class,
+                () -> writing.orTimeout(5, TimeUnit.SECONDS).join()).getCause());
+        assertInstanceOf(StackOverflowError.class, assertThrows(CompletionException.class,
+                () -> queued.orTimeout(5, TimeUnit.SECONDS).join()).getCause());
+        assertThrows(IllegalStateException.class, () -> articleWriteBehind.submit(articles(2, 1)));
+    }
+
+    private ArticleWriteBehind writeBehind(int queueCapacity, int batchSize, Duration linger) {
+        return new ArticleWriteBehind(articleRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                eventPublisher, meterRegistry, queueCapacity, batchSize, linger, Duration.ofMillis(50));
+    }
+
+    private static List<Article> articles(int fetcher, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    Article article = new Article();
+                    article.setUrl("https://example.com/" + fetcher + "-" + i);
+                    return article;
+                })
+                .toList();
+    }
+}
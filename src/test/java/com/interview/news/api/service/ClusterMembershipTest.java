@@ -0,0 +1,159 @@
+package com.interview.news.api.service;
+
+import com.interview.news.NewsApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+    This context is node-a; node-b and node-c are separate application contexts sharing its Postgres container.
+    The container is not the shared one of BaseDatabaseTest, whose cached application contexts would join the cluster too.
+ */
+@SpringBootTest(properties = {
+        "news.cluster.node-id=node-a",
+        "news.cluster.heartbeat-interval-ms=3600000",
+        "news.schedule.articles-cron=-",
+        "news.schedule.sources-cron=-"
+})
+@Testcontainers
+class ClusterMembershipTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgresContainer =
+            new PostgreSQLContainer<>("postgres:latest")
+                    .withDatabaseName("clusterdb")
+                    .withUsername("user")
+                    .withPassword("password");
+
+    private static final List<String> SOURCE_IDS = IntStream.rangeClosed(1, 300).mapToObj(i -> "source-" + i).toList();
+
+    @DynamicPropertySource
+    static void setDataSourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgresContainer::getJdbcUrl);
+        registry.add("spring.datasource.username", postgresContainer::getUsername);
+        registry.add("spring.datasource.password", postgresContainer::getPassword);
+    }
+
+    @Autowired
+    private ClusterMembership nodeA;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ConfigurableApplicationContext contextB;
+    private ConfigurableApplicationContext contextC;
+    private ClusterMembership nodeB;
+    private ClusterMembership nodeC;
+
+    @BeforeEach
+    void startOtherNodes() {
+        contextB = startNode("node-b");
+        contextC = startNode("node-c");
+        nodeB = contextB.getBean(ClusterMembership.class);
+        nodeC = contextC.getBean(ClusterMembership.class);
+        nodeA.heartbeat();
+        nodeB.heartbeat();
+        nodeC.heartbeat();
+    }
+
+    @AfterEach
+    void stopOtherNodes() {
+        contextB.close();
+        contextC.close();
+        jdbcTemplate.update("DELETE FROM cluster_node");
+    }
+
+    @Test
+    void shouldGiveEverySourceToExactlyOneLiveNode() {
+        List<List<String>> shards = List.of(
+                nodeA.ownedSources(SOURCE_IDS), nodeB.ownedSources(SOURCE_IDS), nodeC.ownedSources(SOURCE_IDS));
+
+        assertPartition(shards);
+        shards.forEach(shard -> assertFalse(shard.isEmpty()));
+        assertEquals(3, nodeA.liveNodeCount());
+    }
+
+    @Test
+    void shouldHandOverSourcesOfStoppedNodeAndKeepTheOthersInPlace() {
+        List<String> shardA = nodeA.ownedSources(SOURCE_IDS);
+        List<String> shardB = nodeB.ownedSources(SOURCE_IDS);
+
+        contextC.close();
+
+        List<String> rebalancedA = nodeA.ownedSources(SOURCE_IDS);
+        List<String> rebalancedB = nodeB.ownedSources(SOURCE_IDS);
+        assertPartition(List.of(rebalancedA, rebalancedB));
+        assertTrue(rebalancedA.containsAll(shardA));
+        assertTrue(rebalancedB.containsAll(shardB));
+    }
+
+    @Test
+    void shouldHandOverSourcesOfNodeWhoseHeartbeatExpired() {
+        jdbcTemplate.update("UPDATE cluster_node SET heartbeat_at = now() - interval '1 hour' WHERE node_id = 'node-c'");
+
+        assertPartition(List.of(nodeA.ownedSources(SOURCE_IDS), nodeB.ownedSources(SOURCE_IDS)));
+        assertTrue(nodeC.ownedSources(SOURCE_IDS).isEmpty());
+
+        nodeC.heartbeat();
+
+        assertPartition(List.of(
+                nodeA.ownedSources(SOURCE_IDS), nodeB.ownedSources(SOURCE_IDS), nodeC.ownedSources(SOURCE_IDS)));
+    }
+
+    @Test
+    void shouldElectOneLeaderAndReplaceItWhenItDies() {
+        assertTrue(nodeA.isLeader());
+        assertFalse(nodeB.isLeader());
+        assertFalse(nodeC.isLeader());
+
+        jdbcTemplate.update("UPDATE cluster_node SET heartbeat_at = now() - interval '1 hour' WHERE node_id = 'node-a'");
+
+        assertFalse(nodeA.isLeader());
+        assertTrue(nodeB.isLeader());
+        assertFalse(nodeC.isLeader());
+    }
+
+    private ConfigurableApplicationContext startNode(String nodeId) {
+        return new SpringApplicationBuilder(NewsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgresContainer.getJdbcUrl(),
+                        "spring.datasource.username=" + postgresContainer.getUsername(),
+                        "spring.datasource.password=" + postgresContainer.getPassword(),
+                        "news.cluster.node-id=" + nodeId,
+                        "news.cluster.heartbeat-interval-ms=3600000",
+                        "news.schedule.articles-cron=-",
+                        "news.schedule.sources-cron=-")
+                .run();
+    }
+
+    private static void assertPartition(List<List<String>> shards) {
+        List<String> assigned = new ArrayList<>();
+        shards.forEach(assigned::addAll);
+        Set<String> unique = new HashSet<>(assigned);
+
+        assertEquals(assigned.size(), unique.size(), "A source is owned by more than one node");
+        assertEquals(Set.copyOf(SOURCE_IDS), unique, "A source is owned by no node");
+    }
+}
@@ -0,0 +1,117 @@
+package com.interview.news.api.service;
+
+import com.interview.news.BaseDatabaseTest;
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+    Checks the in-memory search against the real 'english' text search configuration over english-words.txt,
+    so a stemmer rule or stopword that drifts from Postgres shows up here instead of as missing search hits.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class EnglishStemmerParityTest extends BaseDatabaseTest {
+
+    private static List<String> words;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @BeforeAll
+    static void loadWords() throws IOException {
+        try (InputStream in = EnglishStemmerParityTest.class.getResourceAsStream("/english-words.txt")) {
+            words = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.isBlank())
+                    .toList();
+        }
+    }
+
+    @Test
+    void shouldStemLikeToTsvector() {
+        Map<String, String> lexemes = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT w, array_to_string(tsvector_to_array(to_tsvector('english', w)), ' ') AS lexemes
+                        FROM unnest(?::text[]) AS w
+                        """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", words.toArray())),
+                rs -> {
+                    lexemes.put(rs.getString("w"), rs.getString("lexemes"));
+                });
+
+        List<String> mismatches = words.stream()
+                .filter(word -> !lexemes.get(word).equals(EnglishStemmer.STOPWORDS.contains(word) ? "" : EnglishStemmer.stem(word)))
+                .map(word -> word + ": postgres=" + lexemes.get(word) + ", stemmer=" + EnglishStemmer.stem(word))
+                .toList();
+        assertEquals(List.of(), mismatches);
+    }
+
+    @Test
+    void shouldFindSameArticlesAsDatabaseSearch() {
+        Random random = new Random(42);
+        Instant publishedAt = Instant.parse("2024-10-24T10:00:00Z");
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Article article = new Article();
+            article.setSourceName("ZOO TV");
+            article.setUrl("https://example.com/parity/" + i);
+            article.setTitle(sentence(random, 6));
+            article.setDescription(sentence(random, 12));
+            article.setContent(sentence(random, 24));
+            article.setPublishedAt(publishedAt.plusSeconds(60L * (i % 40)));
+            articles.add(article);
+        }
+        articleRepository.saveAllAndFlush(articles);
+        RecentArticlesIndex index = new RecentArticlesIndex(articleRepository, 100, Duration.ofDays(36500));
+        index.warmUp();
+
+        List<String> queries = new ArrayList<>(words);
+        IntStream.range(0, 200).forEach(i -> queries.add(word(random) + " " + word(random)));
+        for (String query : queries) {
+            if (RecentArticlesIndex.queryTerms(query).orElseThrow().isEmpty()) {
+                continue;
+            }
+            List<Long> fromIndex = index.search(query, 20).orElseThrow().stream().map(Article::getId).toList();
+            List<Long> fromDatabase = articleRepository.searchLatestArticles(query, 20).stream().map(Article::getId).toList();
+            assertEquals(fromDatabase, fromIndex, query);
+        }
+        assertTrue(queries.stream().anyMatch(query -> !articleRepository.searchLatestArticles(query, 1).isEmpty()));
+    }
+
+    private static String sentence(Random random, int length) {
+        String sentence = IntStream.range(0, length)
+                .mapToObj(i -> word(random))
+                .collect(Collectors.joining(" "));
+        return Character.toUpperCase(sentence.charAt(0)) + sentence.substring(1) + ".";
+    }
+
+    private static String word(Random random) {
+        return words.get(random.nextInt(words.size()));
+    }
+}
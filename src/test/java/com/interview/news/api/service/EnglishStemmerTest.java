@@ -0,0 +1,34 @@
+package com.interview.news.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EnglishStemmerTest {
+
+    /* Expected lexemes as returned by to_tsvector('english', word). */
+    @Test
+    void shouldStemLikePostgresEnglishConfiguration() {
+        Map<String, String> expected = Map.ofEntries(
+                Map.entry("caresses", "caress"), Map.entry("ponies", "poni"), Map.entry("ties", "tie"),
+                Map.entry("cats", "cat"), Map.entry("gas", "gas"), Map.entry("agreed", "agre"),
+                Map.entry("feed", "feed"), Map.entry("plastered", "plaster"), Map.entry("motoring", "motor"),
+                Map.entry("sing", "sing"), Map.entry("conflated", "conflat"), Map.entry("troubled", "troubl"),
+                Map.entry("sized", "size"), Map.entry("hopping", "hop"), Map.entry("falling", "fall"),
+                Map.entry("filing", "file"), Map.entry("happy", "happi"), Map.entry("running", "run"),
+                Map.entry("economy", "economi"), Map.entry("news", "news"), Map.entry("skies", "sky"),
+                Map.entry("generously", "generous"), Map.entry("generation", "generat"), Map.entry("community", "communiti"),
+                Map.entry("consolation", "consol"), Map.entry("consolatory", "consolatori"), Map.entry("consistently", "consist"),
+                Map.entry("conspicuous", "conspicu"), Map.entry("conspiracy", "conspiraci"), Map.entry("constable", "constabl"),
+                Map.entry("knackeries", "knackeri"), Map.entry("knightly", "knight"), Map.entry("knitting", "knit"),
+                Map.entry("knives", "knive"), Map.entry("national", "nation"), Map.entry("relational", "relat"),
+                Map.entry("sensitivity", "sensit"), Map.entry("electricity", "electr"), Map.entry("hopefulness", "hope"),
+                Map.entry("adjustment", "adjust"), Map.entry("controlling", "control"), Map.entry("rolling", "roll"),
+                Map.entry("inning", "inning"), Map.entry("succeeded", "succeed"), Map.entry("says", "say"),
+                Map.entry("cry", "cri"), Map.entry("by", "by"));
+
+        expected.forEach((word, lexeme) -> assertEquals(lexeme, EnglishStemmer.stem(word), word));
+    }
+}
@@ -0,0 +1,124 @@
+package com.interview.news.api.service;
+
+import com.interview.news.api.exception.ExternalServerErrorException;
+import com.interview.news.api.exception.ExternalServiceUnavailableException;
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import com.interview.news.domain.model.dto.SourceDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HeadlinesRequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldServeConcurrentIdenticalCallsWithOneFetch() throws Exception {
+        HeadlinesRequestCoalescer coalescer = new HeadlinesRequestCoalescer(meterRegistry, Duration.ofSeconds(5));
+        List<ArticleDTO> articles = List.of(new ArticleDTO(new SourceDTO("zoo-tv", "ZOO TV"), "King Julian",
+                "Penguins Found on Madagascar", null, "https://some-s3-url/article1", null, Instant.now(), null));
+        AtomicInteger fetches = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<ArticleDTO>>> results = IntStream.range(0, 10)
+                    .mapToObj(i -> executor.submit(() -> coalescer.coalesce(
+                            new ArticleParamsDTO(i % 2 == 0 ? "US " : "us", null, null).normalized(), () -> {
+                                fetches.incrementAndGet();
+                                await(release);
+                                return articles;
+                            })))
+                    .toList();
+            waitUntilCollapsed(9);
+            release.countDown();
+
+            for (Future<List<ArticleDTO>> result : results) {
+                assertEquals(articles, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, fetches.get());
+        assertEquals(1, callCount("leader"));
+        assertEquals(9, callCount("collapsed"));
+    }
+
+    @Test
+    void shouldPropagateLeaderFailureToWaiters() throws Exception {
+        HeadlinesRequestCoalescer coalescer = new HeadlinesRequestCoalescer(meterRegistry, Duration.ofSeconds(5));
+        ArticleParamsDTO params = new ArticleParamsDTO("us", null, null);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<ArticleDTO>> leader = executor.submit(() -> coalescer.coalesce(params, () -> {
+                await(release);
+                throw new ExternalServerErrorException("Service Unavailable: NewsAPI is down.");
+            }));
+            waitUntilLeaderStarted();
+            Future<List<ArticleDTO>> waiter = executor.submit(() -> coalescer.coalesce(params, List::of));
+            waitUntilCollapsed(1);
+            release.countDown();
+
+            assertEquals(ExternalServerErrorException.class,
+                    assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause().getClass());
+            assertEquals(ExternalServerErrorException.class,
+                    assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS)).getCause().getClass());
+        }
+    }
+
+    @Test
+    void shouldGiveUpWaitingAfterTimeout() throws Exception {
+        HeadlinesRequestCoalescer coalescer = new HeadlinesRequestCoalescer(meterRegistry, Duration.ofMillis(50));
+        ArticleParamsDTO params = new ArticleParamsDTO("us", null, null);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> coalescer.coalesce(params, () -> {
+                await(release);
+                return List.of();
+            }));
+            waitUntilLeaderStarted();
+
+            assertThrows(ExternalServiceUnavailableException.class, () -> coalescer.coalesce(params, List::of));
+            assertEquals(1, callCount("timed_out"));
+            release.countDown();
+        }
+    }
+
+    private double callCount(String role) {
+        return meterRegistry.get("news.headlines.fetch.calls").tag("role", role).counter().count();
+    }
+
+    private void waitUntilLeaderStarted() throws InterruptedException {
+        while (callCount("leader") < 1) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void waitUntilCollapsed(int calls) throws InterruptedException {
+        while (callCount("collapsed") < calls) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.interview.news.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IngestionExecutorTest {
+
+    private final IngestionExecutor ingestionExecutor = new IngestionExecutor(8, 2);
+
+    @AfterEach
+    void tearDown() {
+        ingestionExecutor.shutdown();
+    }
+
+    @Test
+    void shouldRunMoreBlockingTasksThanCoresConcurrently() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        long startTime = System.currentTimeMillis();
+        ingestionExecutor.runAll(tasks(64, () -> ingestionExecutor.callUpstream(() -> track(inFlight, maxInFlight))));
+        long duration = System.currentTimeMillis() - startTime;
+
+        assertEquals(8, maxInFlight.get());
+        /* 8 waves of 50 ms calls; run one by one they would take 3200 ms. */
+        assertTrue(duration < 1600, "64 blocking calls took " + duration + " ms");
+    }
+
+    @Test
+    void shouldLimitDatabaseWritesSeparatelyFromUpstreamCalls() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        ingestionExecutor.runAll(tasks(16, () -> ingestionExecutor.writeToDatabase(() -> track(inFlight, maxInFlight))));
+
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void shouldContinueWhenSingleTaskFails() {
+        AtomicInteger completed = new AtomicInteger();
+
+        ingestionExecutor.runAll(List.of(
+                () -> {
+                    throw new IllegalStateException("Upstream failure");
+                },
+                completed::incrementAndGet,
+                completed::incrementAndGet));
+
+        assertEquals(2, completed.get());
+    }
+
+    private List<Runnable> tasks(int count, Runnable task) {
+        return IntStream.range(0, count).<Runnable>mapToObj(i -> task).toList();
+    }
+
+    private Void track(AtomicInteger inFlight, AtomicInteger maxInFlight) {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,125 @@
+package com.interview.news.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.news.api.exception.ExternalBadRequestException;
+import com.interview.news.api.exception.ExternalClientUnknownException;
+import com.interview.news.api.exception.ExternalServerErrorException;
+import com.interview.news.api.exception.ExternalServiceUnavailableException;
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs NewsExternalServiceIntegration with a real RestTemplate against a local HTTP stub of the News API.
+ */
+class NewsApiResilienceTest {
+
+    private static final String HEADLINES_BODY = """
+            {"status":"ok","totalResults":1,"articles":[{"source":{"id":"zoo-tv","name":"ZOO TV"},
+            "title":"Penguins Found on Madagascar","url":"https://some-s3-url/article1","publishedAt":"2024-10-24T10:00:00Z"}]}
+            """;
+    private static final String BAD_REQUEST_BODY = """
+            {"status":"error","code":"parameterInvalid","message":"The parameter is not supported."}
+            """;
+
+    private final ConcurrentLinkedQueue<Integer> plannedStatuses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private HttpServer server;
+    private NewsExternalServiceIntegration newsExternalService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v2/top-headlines", exchange -> {
+            requestCount.incrementAndGet();
+            Integer status = plannedStatuses.poll();
+            int code = status != null ? status : 200;
+            byte[] body = (code == 200 ? HEADLINES_BODY : code == 400 ? BAD_REQUEST_BODY : "").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(code, body.length == 0 ? -1 : body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        server.start();
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordExceptions(ExternalServerErrorException.class, ExternalClientUnknownException.class)
+                .build());
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(Duration.ofMillis(10), 2, 0.5))
+                .retryExceptions(ExternalServerErrorException.class, ExternalClientUnknownException.class)
+                .build());
+
+        newsExternalService = new NewsExternalServiceIntegration(new RestTemplate(), new ObjectMapper(),
+                new TopHeadlinesStreamDecoder(new ObjectMapper()),
+                new HeadlinesChangeTracker(new SimpleMeterRegistry(), 16),
+                new UpstreamRateGovernor(() -> 1, 100, 100, 10_000, 0, Duration.ofSeconds(1), Duration.ZERO, Duration.ZERO),
+                new NewsApiResilience(circuitBreakerRegistry, retryRegistry));
+        ReflectionTestUtils.setField(newsExternalService, "apiKey", "test-api-key");
+        ReflectionTestUtils.setField(newsExternalService, "baseUrl", "http://localhost:" + server.getAddress().getPort() + "/v2");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldRetryServerErrorsUntilUpstreamRecovers() {
+        plannedStatuses.addAll(List.of(503, 502));
+
+        List<ArticleDTO> result = newsExternalService.fetchTopHeadlines(new ArticleParamsDTO("us", null, null));
+
+        assertEquals(1, result.size());
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    void shouldNotRetryClientErrors() {
+        plannedStatuses.add(400);
+
+        assertThrows(ExternalBadRequestException.class,
+                () -> newsExternalService.fetchTopHeadlines(new ArticleParamsDTO("us", null, null)));
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void shouldFailFastOnceCircuitBreakerOpens() {
+        plannedStatuses.addAll(List.of(503, 503, 503, 503, 503, 503));
+
+        assertThrows(ExternalServerErrorException.class,
+                () -> newsExternalService.fetchTopHeadlines(new ArticleParamsDTO("us", null, null)));
+        assertThrows(ExternalServiceUnavailableException.class,
+                () -> newsExternalService.fetchTopHeadlines(new ArticleParamsDTO("us", null, null)));
+        assertEquals(4, requestCount.get());
+    }
+}
@@ -1,32 +1,52 @@
 package com.interview.news.api.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.interview.news.api.exception.ExternalBadRequestException;
 import com.interview.news.api.exception.ExternalRateLimitExceededException;
 import com.interview.news.api.exception.ExternalServerErrorException;
+import com.interview.news.api.exception.ExternalSourcesTooManyException;
 import com.interview.news.api.exception.ExternalUnauthorizedException;
 import com.interview.news.api.model.SourcesResponse;
 import com.interview.news.api.model.TopHeadlinesResponse;
 import com.interview.news.domain.model.dto.ArticleDTO;
 import com.interview.news.domain.model.dto.ArticleParamsDTO;
 import com.interview.news.domain.model.dto.SourceDTO;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 class NewsExternalServiceIntegrationTest {
@@ -40,10 +60,20 @@ class NewsExternalServiceIntegrationTest {
     @InjectMocks
     private NewsExternalServiceIntegration newsExternalService;
 
+    private SimpleMeterRegistry meterRegistry;
+    private HeadlinesChangeTracker headlinesChangeTracker;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        newsExternalService = new NewsExternalServiceIntegration(restTemplate, new ObjectMapper());
+        meterRegistry = new SimpleMeterRegistry();
+        headlinesChangeTracker = new HeadlinesChangeTracker(meterRegistry, 16);
+        newsExternalService = new NewsExternalServiceIntegration(restTemplate, new ObjectMapper(),
+                new TopHeadlinesStreamDecoder(new ObjectMapper()), headlinesChangeTracker,
+                new UpstreamRateGovernor(() -> 1, 100, 100, 10_000, 0, Duration.ofSeconds(1), Duration.ZERO, Duration.ZERO),
+                new NewsApiResilience(CircuitBreakerRegistry.ofDefaults(), RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build())));
+        ReflectionTestUtils.setField(newsExternalService, "apiKey", "test-api-key");
+        ReflectionTestUtils.setField(newsExternalService, "baseUrl", "https://newsapi.org/v2");
     }
 
     @Test
@@ -76,8 +106,7 @@ class NewsExternalServiceIntegrationTest {
 
         TopHeadlinesResponse response = new TopHeadlinesResponse("ok", 2, articles);
 
-        when(restTemplate.getForObject(anyString(), Mockito.eq(TopHeadlinesResponse.class)))
-                .thenReturn(response);
+        mockTopHeadlinesResponse(response);
 
         List<ArticleDTO> result = newsExternalService.fetchTopHeadlines(new ArticleParamsDTO("us", null, null));
 
@@ -88,6 +117,151 @@ class NewsExternalServiceIntegrationTest {
         assertEquals("Frodo News", result.get(1).source().name());
     }
 
+    @Test
+    void shouldStreamOnlyArticlesAcceptedByFilter() {
+        List<ArticleDTO> articles = List.of(
+                new ArticleDTO(new SourceDTO("zoo-tv", "ZOO TV"), "King Julian", "Penguins Found on Madagascar",
+                        "Breaking news about penguins on the Madagascar", "https://some-s3-url/article1",
+                        "https://some-s3-url/image1.jpg", Instant.parse("2024-10-24T10:00:00Z"), "Lorem ipsum dolor sit amet."),
+                new ArticleDTO(new SourceDTO("zoo-tv", "ZOO TV"), "King Julian", "Lemurs Found on Madagascar",
+                        "Breaking news about lemurs on the Madagascar", "https://some-s3-url/article2",
+                        "https://some-s3-url/image2.jpg", Instant.parse("2024-10-24T11:00:00Z"), "Lorem ipsum dolor sit amet.")
+        );
+        mockTopHeadlinesResponse(new TopHeadlinesResponse("ok", 2, articles));
+
+        List<ArticleDTO> result = new ArrayList<>();
+        newsExternalService.streamTopHeadlines(new ArticleParamsDTO(null, null, "zoo-tv"), UpstreamCallPriority.SCHEDULED,
+                articleKey -> !"https://some-s3-url/article1".equals(articleKey.url()), result::add);
+
+        assertEquals(1, result.size());
+        assertEquals("Lemurs Found on Madagascar", result.get(0).title());
+    }
+
+    @Test
+    void shouldRequestFullPagesUntilTotalResultsIsReached() {
+        List<URI> requestedUris = new ArrayList<>();
+        ObjectMapper jsonMapper = jsonMapper();
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), any(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    URI uri = invocation.getArgument(0);
+                    requestedUris.add(uri);
+                    int page = requestedUris.size();
+                    TopHeadlinesResponse response = new TopHeadlinesResponse("ok", 150, zooTvArticles((page - 1) * 100, page == 1 ? 100 : 50));
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(new MockClientHttpResponse(jsonMapper.writeValueAsBytes(response), HttpStatus.OK));
+                });
+
+        List<ArticleDTO> result = new ArrayList<>();
+        newsExternalService.streamTopHeadlines(new ArticleParamsDTO(null, null, "zoo-tv"), UpstreamCallPriority.SCHEDULED,
+                articleKey -> true, result::add);
+
+        assertEquals(List.of(
+                URI.create("https://newsapi.org/v2/top-headlines?apiKey=test-api-key&pageSize=100&page=1&sources=zoo-tv"),
+                URI.create("https://newsapi.org/v2/top-headlines?apiKey=test-api-key&pageSize=100&page=2&sources=zoo-tv")
+        ), requestedUris);
+        assertEquals(150, result.size());
+    }
+
+    @Test
+    void shouldStopPagingWhenPlanLimitIsReached() {
+        String limitBody = """
+                {
+                    "status": "error",
+                    "code": "maximumResultsReached",
+                    "message": "You have requested too many results."
+                }
+                """;
+        ObjectMapper jsonMapper = jsonMapper();
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), any(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    TopHeadlinesResponse response = new TopHeadlinesResponse("ok", 500, zooTvArticles(0, 100));
+                    return extractor.extractData(new MockClientHttpResponse(jsonMapper.writeValueAsBytes(response), HttpStatus.OK));
+                })
+                .thenThrow(HttpClientErrorException.create(HttpStatus.UPGRADE_REQUIRED, "Upgrade Required", null, limitBody.getBytes(), null));
+
+        List<ArticleDTO> result = new ArrayList<>();
+        newsExternalService.streamTopHeadlines(new ArticleParamsDTO(null, null, "zoo-tv"), UpstreamCallPriority.SCHEDULED,
+                articleKey -> true, result::add);
+
+        assertEquals(100, result.size());
+    }
+
+    @Test
+    void shouldSkipResponseWithUnchangedArticleUrls() {
+        List<ArticleDTO> articles = List.of(
+                new ArticleDTO(new SourceDTO("zoo-tv", "ZOO TV"), "King Julian", "Penguins Found on Madagascar",
+                        "Breaking news about penguins on the Madagascar", "https://some-s3-url/article1",
+                        "https://some-s3-url/image1.jpg", Instant.parse("2024-10-24T10:00:00Z"), "Lorem ipsum dolor sit amet.")
+        );
+        mockTopHeadlinesResponse(new TopHeadlinesResponse("ok", 1, articles));
+        ArticleParamsDTO params = new ArticleParamsDTO("us", null, null);
+
+        List<ArticleDTO> first = newsExternalService.fetchTopHeadlines(params);
+        List<ArticleDTO> second = newsExternalService.fetchTopHeadlines(params);
+
+        assertEquals(1, first.size());
+        assertTrue(second.isEmpty());
+        assertEquals(1, responseCount("changed"));
+        assertEquals(1, responseCount("unchanged_fingerprint"));
+        assertEquals(0.5, meterRegistry.get("news.api.headlines.skip.ratio").gauge().value());
+    }
+
+    @Test
+    void shouldRememberDeferredFetchOnlyOnceAcknowledged() {
+        List<ArticleDTO> articles = List.of(
+                new ArticleDTO(new SourceDTO("zoo-tv", "ZOO TV"), "King Julian", "Penguins Found on Madagascar",
+                        "Breaking news about penguins on the Madagascar", "https://some-s3-url/article1",
+                        "https://some-s3-url/image1.jpg", Instant.parse("2024-10-24T10:00:00Z"), "Lorem ipsum dolor sit amet.")
+        );
+        mockTopHeadlinesResponse(new TopHeadlinesResponse("ok", 1, articles));
+        ArticleParamsDTO params = new ArticleParamsDTO("us", null, null);
+
+        HeadlinesChangeTracker.DeferredFetch<List<ArticleDTO>> unacknowledged =
+                headlinesChangeTracker.deferRemembering(() -> newsExternalService.fetchTopHeadlines(params));
+        HeadlinesChangeTracker.DeferredFetch<List<ArticleDTO>> retried =
+                headlinesChangeTracker.deferRemembering(() -> newsExternalService.fetchTopHeadlines(params));
+        retried.acknowledge().run();
+
+        assertEquals(1, unacknowledged.result().size());
+        assertEquals(1, retried.result().size());
+        assertTrue(newsExternalService.fetchTopHeadlines(params).isEmpty());
+    }
+
+    @Test
+    void shouldSendConditionalHeadersAndSkipNotModifiedResponse() throws Exception {
+        ObjectMapper jsonMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        byte[] body = jsonMapper.writeValueAsBytes(new TopHeadlinesResponse("ok", 0, List.of()));
+        List<MockClientHttpRequest> requests = new ArrayList<>();
+
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), any(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    MockClientHttpRequest request = new MockClientHttpRequest();
+                    RequestCallback callback = invocation.getArgument(2);
+                    callback.doWithRequest(request);
+                    requests.add(request);
+
+                    MockClientHttpResponse response = requests.size() == 1
+                            ? new MockClientHttpResponse(body, HttpStatus.OK)
+                            : new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+                    response.getHeaders().setETag("\"v1\"");
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(response);
+                });
+
+        ArticleParamsDTO params = new ArticleParamsDTO("us", null, null);
+        newsExternalService.fetchTopHeadlines(params);
+        List<ArticleDTO> result = newsExternalService.fetchTopHeadlines(params);
+
+        assertTrue(result.isEmpty());
+        assertTrue(requests.get(0).getHeaders().getIfNoneMatch().isEmpty());
+        assertEquals(List.of("\"v1\""), requests.get(1).getHeaders().getIfNoneMatch());
+        assertEquals(1, responseCount("not_modified"));
+    }
+
     @Test
     void shouldThrowUnauthorizedExceptionForInvalidApiKey() {
         mockClientError(
@@ -108,6 +282,16 @@ class NewsExternalServiceIntegrationTest {
         );
     }
 
+    @Test
+    void shouldThrowSourcesTooManyExceptionForTooManySources() {
+        mockClientError(
+                "sourcesTooMany",
+                "You have requested too many sources in a single request.",
+                HttpStatus.BAD_REQUEST,
+                ExternalSourcesTooManyException.class
+        );
+    }
+
     @Test
     void shouldThrowRateLimitExceededExceptionWhenRateLimited() {
         mockClientError(
@@ -123,7 +307,7 @@ class NewsExternalServiceIntegrationTest {
         HttpServerErrorException exception = HttpServerErrorException.create(
                 HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", null, null, null);
 
-        when(restTemplate.getForObject(anyString(), Mockito.eq(TopHeadlinesResponse.class)))
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), any(), any(ResponseExtractor.class)))
                 .thenThrow(exception);
 
         ExternalServerErrorException thrown = assertThrows(ExternalServerErrorException.class, () -> {
@@ -192,7 +376,7 @@ class NewsExternalServiceIntegrationTest {
         HttpClientErrorException exception = HttpClientErrorException.create(
                 status, "Client Error", null, responseBody.getBytes(), null);
 
-        when(restTemplate.getForObject(anyString(), Mockito.eq(TopHeadlinesResponse.class)))
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), any(), any(ResponseExtractor.class)))
                 .thenThrow(exception);
 
         RuntimeException thrown = assertThrows(expectedException, () -> newsExternalService.fetchTopHeadlines(new ArticleParamsDTO("us", null, null)));
@@ -216,4 +400,35 @@ class NewsExternalServiceIntegrationTest {
         RuntimeException thrown = assertThrows(expectedException, () -> newsExternalService.fetchSources());
         assertEquals(message, thrown.getMessage());
     }
-}
\ No newline at end of file
+
+    private double responseCount(String outcome) {
+        return meterRegistry.get("news.api.headlines.responses").tag("outcome", outcome).counter().count();
+    }
+
+    private List<ArticleDTO> zooTvArticles(int from, int count) {
+        List<ArticleDTO> articles = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            articles.add(new ArticleDTO(new SourceDTO("zoo-tv", "ZOO TV"), "King Julian", "Penguin sighting " + i,
+                    "Penguins spotted again", "https://zoo-tv.com/penguins/" + i, null,
+                    Instant.parse("2024-10-24T10:00:00Z").minusSeconds(i), "Lorem ipsum dolor sit amet."));
+        }
+        return articles;
+    }
+
+    private ObjectMapper jsonMapper() {
+        return JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private void mockTopHeadlinesResponse(TopHeadlinesResponse response) {
+        ObjectMapper jsonMapper = jsonMapper();
+
+        when(restTemplate.execute(any(URI.class), eq(HttpMethod.GET), any(), any(ResponseExtractor.class)))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    return extractor.extractData(new MockClientHttpResponse(jsonMapper.writeValueAsBytes(response), HttpStatus.OK));
+                });
+    }
+}
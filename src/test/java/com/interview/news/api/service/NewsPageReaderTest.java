@@ -0,0 +1,111 @@
+package com.interview.news.api.service;
+
+import com.interview.news.config.CacheConfig;
+import com.interview.news.domain.model.dto.ArticleFilterDTO;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(NewsPageReaderTest.CachingConfig.class)
+@TestPropertySource(properties = {"news.cache.news-pages.hot-page-depth=40", "news.recent-window.size=20"})
+class NewsPageReaderTest {
+
+    @MockBean
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private NewsPageReader newsPageReader;
+
+    @Autowired
+    private RecentArticlesWindow recentArticlesWindow;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.NEWS_PAGES_CACHE).clear();
+        when(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 10)).thenReturn(List.of(summary()));
+        when(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 20, 10)).thenReturn(List.of(summary()));
+        when(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 40, 10)).thenReturn(List.of(summary()));
+    }
+
+    @Test
+    void shouldServeHotPagesFromCache() {
+        newsPageReader.readPage(10, 0);
+        newsPageReader.readPage(10, 0);
+
+        verify(articleRepository, times(1)).findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 10);
+    }
+
+    @Test
+    void shouldReadDeepPagesFromDatabase() {
+        newsPageReader.readPage(10, 40);
+        newsPageReader.readPage(10, 40);
+
+        verify(articleRepository, times(2)).findArticleSummaries(ArticleFilterDTO.NONE, null, 40, 10);
+    }
+
+    @Test
+    void shouldCachePagesBeyondTheWarmWindow() {
+        when(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 20)).thenReturn(summaries(20));
+        recentArticlesWindow.warmUp();
+
+        assertTrue(recentArticlesWindow.page(10, 10).isPresent());
+        assertTrue(recentArticlesWindow.page(10, 20).isEmpty());
+        newsPageReader.readPage(10, 20);
+        newsPageReader.readPage(10, 20);
+
+        verify(articleRepository, times(1)).findArticleSummaries(ArticleFilterDTO.NONE, null, 20, 10);
+    }
+
+    @Test
+    void shouldInvalidateCachedPagesWhenArticlesAreIngested() {
+        newsPageReader.readPage(10, 0);
+
+        Article article = new Article();
+        article.setId(99L);
+        eventPublisher.publishEvent(new ArticlesIngestedEvent(List.of(article)));
+        newsPageReader.readPage(10, 0);
+
+        verify(articleRepository, times(2)).findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 10);
+    }
+
+    private static ArticleSummaryDTO summary() {
+        return new ArticleSummaryDTO(1L, "ZOO TV", "Penguins Found on Madagascar", "https://example.com/1", null, null);
+    }
+
+    private static List<ArticleSummaryDTO> summaries(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new ArticleSummaryDTO(id, "ZOO TV", "Penguins " + id, "https://example.com/" + id, null, null))
+                .toList();
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({CacheConfig.class, NewsPageReader.class, RecentArticlesWindow.class})
+    static class CachingConfig {
+    }
+}
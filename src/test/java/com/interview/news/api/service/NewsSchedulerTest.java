@@ -1,13 +1,10 @@
 package com.interview.news.api.service;
 
 import com.interview.news.domain.model.dto.ArticleDTO;
-import com.interview.news.domain.model.dto.ArticleParamsDTO;
 import com.interview.news.domain.model.dto.SourceDTO;
-import com.interview.news.domain.model.entity.Source;
 import com.interview.news.persistance.SourceRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
@@ -15,8 +12,11 @@ import org.mockito.MockitoAnnotations;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
@@ -28,50 +28,89 @@ class NewsSchedulerTest {
     @Mock
     private NewsService newsService;
 
-    @InjectMocks
+    @Mock
+    private ClusterMembership clusterMembership;
+
     private NewsScheduler newsScheduler;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        SourceFetchPlanner sourceFetchPlanner = new SourceFetchPlanner(mock(NewsExternalServiceIntegration.class), 20);
+        newsScheduler = new NewsScheduler(sourceRepository, newsService, sourceFetchPlanner, new IngestionExecutor(16, 4), clusterMembership);
+        when(clusterMembership.ownedSources(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
         prepareMockedNewsServiceResponse();
     }
 
     @Test
     void shouldFetchArticlesBySourcesConcurrently() {
-        List<Source> mockSources = createMockSources(100000);
-        when(sourceRepository.findAll()).thenReturn(mockSources);
+        List<String> mockSourceIds = createMockSourceIds(100000);
+        when(sourceRepository.findAllSourcesId()).thenReturn(mockSourceIds);
 
         long startTime = System.currentTimeMillis();
         newsScheduler.fetchArticlesBySourcesConcurrent();
         long duration = System.currentTimeMillis() - startTime;
 
         System.out.println("Execution time (Concurrently): " + duration + " ms");
-        Mockito.verify(newsService, times(100000)).fetchAndSaveTopHeadlines(any(ArticleParamsDTO.class));
+        Mockito.verify(newsService, times(5000)).fetchAndSaveTopHeadlinesForSources(anyList());
     }
 
     @Test
     void shouldFetchArticlesBySourcesSequentially() {
-        List<Source> mockSources = createMockSources(1000000);
-        when(sourceRepository.findAll()).thenReturn(mockSources);
+        List<String> mockSourceIds = createMockSourceIds(100000);
+        when(sourceRepository.findAllSourcesId()).thenReturn(mockSourceIds);
 
         long startTime = System.currentTimeMillis();
         newsScheduler.fetchArticlesBySourcesSequential();
         long duration = System.currentTimeMillis() - startTime;
 
         System.out.println("Execution time (sequentially): " + duration + " ms");
-        Mockito.verify(newsService, times(1000000)).fetchAndSaveTopHeadlines(any(ArticleParamsDTO.class));
+        Mockito.verify(newsService, times(5000)).fetchAndSaveTopHeadlinesForSources(anyList());
+    }
+
+    @Test
+    void shouldFetchOnlySourcesOwnedByThisNode() {
+        List<String> mockSourceIds = createMockSourceIds(100);
+        when(sourceRepository.findAllSourcesId()).thenReturn(mockSourceIds);
+        when(clusterMembership.ownedSources(mockSourceIds)).thenReturn(mockSourceIds.subList(0, 30));
+
+        newsScheduler.fetchArticlesBySourcesConcurrent();
+
+        Mockito.verify(newsService).fetchAndSaveTopHeadlinesForSources(mockSourceIds.subList(0, 20));
+        Mockito.verify(newsService).fetchAndSaveTopHeadlinesForSources(mockSourceIds.subList(20, 30));
+        Mockito.verifyNoMoreInteractions(newsService);
+    }
+
+    @Test
+    void shouldFetchOnlySourcesOwnedByThisNodeSequentially() {
+        List<String> mockSourceIds = createMockSourceIds(100);
+        when(sourceRepository.findAllSourcesId()).thenReturn(mockSourceIds);
+        when(clusterMembership.ownedSources(mockSourceIds)).thenReturn(mockSourceIds.subList(0, 30));
+
+        newsScheduler.fetchArticlesBySourcesSequential();
+
+        Mockito.verify(newsService).fetchAndSaveTopHeadlinesForSources(mockSourceIds.subList(0, 20));
+        Mockito.verify(newsService).fetchAndSaveTopHeadlinesForSources(mockSourceIds.subList(20, 30));
+        Mockito.verifyNoMoreInteractions(newsService);
+    }
+
+    @Test
+    void shouldFetchSourcesOnlyOnLeader() {
+        when(clusterMembership.isLeader()).thenReturn(false);
+        newsScheduler.fetchSources();
+        Mockito.verify(newsService, never()).fetchAndSaveSources();
+
+        when(clusterMembership.isLeader()).thenReturn(true);
+        newsScheduler.fetchSources();
+        Mockito.verify(newsService).fetchAndSaveSources();
     }
 
-    private List<Source> createMockSources(int count) {
-        List<Source> sources = new ArrayList<>();
+    private List<String> createMockSourceIds(int count) {
+        List<String> sourceIds = new ArrayList<>();
         for (int i = 1; i <= count; i++) {
-            Source source = new Source();
-            source.setSourceId("source-" + i);
-            source.setName("Source " + i);
-            sources.add(source);
+            sourceIds.add("source-" + i);
         }
-        return sources;
+        return sourceIds;
     }
 
     private void prepareMockedNewsServiceResponse() {
@@ -87,7 +126,7 @@ class NewsSchedulerTest {
                 "Mock Content"
         );
 
-        when(newsService.fetchAndSaveTopHeadlines(any(ArticleParamsDTO.class)))
-                .thenReturn(List.of(mockArticle));
+        when(newsService.fetchAndSaveTopHeadlinesForSources(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(mockArticle)));
     }
 }
@@ -0,0 +1,89 @@
+package com.interview.news.api.service;
+
+import com.interview.news.BaseDatabaseTest;
+import com.interview.news.domain.model.dto.ArticleCursor;
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import com.interview.news.domain.model.dto.SourceDTO;
+import com.interview.news.persistance.ArticleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * With a pool of two connections, eight slow upstream fetches in flight must not keep readers from the database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=1000",
+        "news.recent-window.size=0"
+})
+@Testcontainers
+class NewsServiceConnectionStarvationTest extends BaseDatabaseTest {
+
+    private static final long UPSTREAM_LATENCY_MS = 1500;
+    private static final int CONCURRENT_FETCHES = 8;
+    private static final long MAX_READ_MS = 500;
+
+    @Autowired
+    private NewsService newsService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @MockBean
+    private NewsExternalServiceIntegration newsExternalServiceIntegration;
+
+    @AfterEach
+    void cleanDatabase() {
+        articleRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeReadersWhileFetchesWaitForUpstream() throws Exception {
+        when(newsExternalServiceIntegration.fetchTopHeadlines(any(ArticleParamsDTO.class))).thenAnswer(invocation -> {
+            ArticleParamsDTO params = invocation.getArgument(0);
+            Thread.sleep(UPSTREAM_LATENCY_MS);
+            return List.of(new ArticleDTO(new SourceDTO("zoo-tv", "ZOO TV"), "King Julian", "Penguins Found on Madagascar",
+                    null, "https://some-s3-url/" + params.category(), null, Instant.now(), null));
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<List<ArticleDTO>>> fetches = IntStream.range(0, CONCURRENT_FETCHES)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() ->
+                            newsService.fetchAndSaveTopHeadlines(new ArticleParamsDTO("us", "category-" + i, null)), executor))
+                    .toList();
+            Thread.sleep(200);
+
+            long slowestReadMs = 0;
+            for (int i = 0; i < 20; i++) {
+                long startTime = System.currentTimeMillis();
+                newsService.getNews(10, new ArticleCursor(Instant.now(), Long.MAX_VALUE));
+                slowestReadMs = Math.max(slowestReadMs, System.currentTimeMillis() - startTime);
+            }
+
+            /* Well below both the upstream latency and the 1000 ms pool timeout a starved reader would wait for. */
+            assertTrue(slowestReadMs < MAX_READ_MS,
+                    "Readers waited for a connection during refresh, slowest read took " + slowestReadMs + " ms");
+            assertTrue(fetches.stream().noneMatch(CompletableFuture::isDone), "Fetches should still wait for upstream");
+            CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new)).join();
+        }
+
+        assertEquals(CONCURRENT_FETCHES, articleRepository.count());
+    }
+}
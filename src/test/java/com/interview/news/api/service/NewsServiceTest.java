@@ -1,22 +1,49 @@
 package com.interview.news.api.service;
 
+import com.interview.news.config.CacheConfig;
+import com.interview.news.domain.model.dto.ArticleCursor;
 import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleFilterDTO;
+import com.interview.news.domain.model.dto.ArticleKey;
 import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import com.interview.news.domain.model.dto.ArticleSearchCursor;
+import com.interview.news.domain.model.dto.ArticleSearchHit;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
 import com.interview.news.domain.model.dto.SourceDTO;
 import com.interview.news.domain.model.entity.Article;
+import com.interview.news.domain.model.entity.SourceWatermark;
 import com.interview.news.persistance.ArticleRepository;
 import com.interview.news.persistance.SourceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,12 +59,34 @@ class NewsServiceTest {
     @Mock
     private SourceRepository sourceRepository;
 
-    @InjectMocks
+    @Mock
+    private SourceFetchPlanner sourceFetchPlanner;
+
+    @Mock
+    private SourceWatermarkTracker sourceWatermarkTracker;
+
+    @Mock
+    private ArticleWriteBehind articleWriteBehind;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private NewsService newsService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        newsService = new NewsService(newsExternalServiceIntegration,
+                new TopHeadlinesReader(newsExternalServiceIntegration), articleRepository, sourceRepository,
+                sourceFetchPlanner, sourceWatermarkTracker, new IngestionExecutor(4, 2),
+                new HeadlinesRequestCoalescer(new SimpleMeterRegistry(), Duration.ofSeconds(5)),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new NewsPageReader(articleRepository, new ConcurrentMapCacheManager(CacheConfig.NEWS_PAGES_CACHE), 0),
+                new RecentArticlesWindow(articleRepository, 0),
+                new RecentArticlesIndex(articleRepository, 0, Duration.ofDays(7)),
+                articleWriteBehind,
+                new HeadlinesChangeTracker(new SimpleMeterRegistry(), 16),
+                eventPublisher);
     }
 
     @Test
@@ -51,14 +100,54 @@ class NewsServiceTest {
         );
 
         when(newsExternalServiceIntegration.fetchTopHeadlines(params)).thenReturn(articleDTOs);
-        when(articleRepository.findAllUrls()).thenReturn(List.of("https://example.com/1"));
-        when(articleRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(articleRepository.insertIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<Article> articles = invocation.getArgument(0);
+            return articles.stream()
+                    .filter(article -> !"https://example.com/1".equals(article.getUrl()))
+                    .toList();
+        });
 
         List<ArticleDTO> result = newsService.fetchAndSaveTopHeadlines(params);
 
         assertEquals(1, result.size());
         assertEquals("Adventure in Mordor", result.get(0).title());
-        verify(articleRepository, times(1)).saveAll(anyList());
+        verify(articleRepository, times(1)).insertIfAbsent(anyList());
+        verify(eventPublisher, times(1)).publishEvent(any(ArticlesIngestedEvent.class));
+    }
+
+    @Test
+    void shouldFetchAndSaveTopHeadlinesForBatchOfSources() {
+        List<String> sourceIds = List.of("middle-earth", "shire-times");
+        Map<String, List<ArticleDTO>> unseenArticlesBySource = new LinkedHashMap<>();
+        unseenArticlesBySource.put("middle-earth", List.of(new ArticleDTO(new SourceDTO("middle-earth", "Middle-Earth Chronicle"), "Gandalf",
+                "Penguins Invade Middle-Earth", "Breaking news from Middle-Earth", "https://example.com/1",
+                "https://example.com/image1.jpg", Instant.now(), "Unexpected visitors in the Shire.")));
+        unseenArticlesBySource.put("shire-times", List.of());
+        Map<String, SourceWatermark> watermarks = Map.of();
+        Predicate<ArticleKey> unseenFilter = articleKey -> true;
+
+        when(sourceWatermarkTracker.load(sourceIds)).thenReturn(watermarks);
+        when(sourceWatermarkTracker.unseenFilter(watermarks)).thenReturn(unseenFilter);
+        when(sourceFetchPlanner.fetch(sourceIds, unseenFilter)).thenReturn(unseenArticlesBySource);
+        CompletableFuture<List<Article>> write = new CompletableFuture<>();
+        when(articleWriteBehind.submit(anyList(), any(Runnable.class))).thenAnswer(invocation -> {
+            Runnable inTransaction = invocation.getArgument(1);
+            inTransaction.run();
+            return write;
+        });
+
+        CompletableFuture<List<ArticleDTO>> pending = newsService.fetchAndSaveTopHeadlinesForSources(sourceIds);
+
+        assertFalse(pending.isDone());
+        ArgumentCaptor<List<Article>> submitted = ArgumentCaptor.captor();
+        verify(articleWriteBehind).submit(submitted.capture(), any(Runnable.class));
+        write.complete(submitted.getValue());
+        List<ArticleDTO> result = pending.join();
+        assertEquals(1, result.size());
+        assertEquals("Penguins Invade Middle-Earth", result.get(0).title());
+        verify(sourceFetchPlanner, times(1)).fetch(sourceIds, unseenFilter);
+        verify(sourceWatermarkTracker, times(1)).advance(watermarks, unseenArticlesBySource);
+        verify(articleRepository, never()).insertIfAbsent(anyList());
     }
 
     @Test
@@ -85,15 +174,101 @@ class NewsServiceTest {
 
     @Test
     void shouldReturnPaginatedNews() {
-        List<Article> articles = createSampleArticles();
+        List<ArticleSummaryDTO> articles = createSampleSummaries();
+
+        when(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 2)).thenReturn(articles);
+
+        List<ArticleSummaryDTO> result = newsService.getNews(2, 0);
+
+        assertEquals(2, result.size());
+        assertEquals("Penguins Invade Middle-Earth", result.get(0).title());
+        assertEquals("Adventure in Mordor", result.get(1).title());
+    }
+
+    @Test
+    void shouldReturnNewsPublishedBeforeCursor() {
+        List<ArticleSummaryDTO> articles = createSampleSummaries();
+        ArticleCursor cursor = new ArticleCursor(Instant.parse("2024-10-24T10:00:00Z"), 42L);
+
+        when(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, cursor, 0, 2)).thenReturn(articles);
+
+        List<ArticleSummaryDTO> result = newsService.getNews(2, cursor);
+
+        assertEquals(2, result.size());
+        verify(articleRepository, never()).findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 2);
+    }
+
+    @Test
+    void shouldReadFilteredNewsFromDatabase() {
+        List<ArticleSummaryDTO> articles = createSampleSummaries();
+        ArticleFilterDTO filter = new ArticleFilterDTO(null, null, null, " Technology ", "US");
 
-        when(articleRepository.findArticlesWithLimitAndOffset(2, 0)).thenReturn(articles);
+        when(articleRepository.findArticleSummaries(filter, null, 20, 2)).thenReturn(articles);
 
-        List<Article> result = newsService.getNews(2, 0);
+        List<ArticleSummaryDTO> result = newsService.getNews(2, 20, filter);
 
         assertEquals(2, result.size());
-        assertEquals("Penguins Invade Middle-Earth", result.get(0).getTitle());
-        assertEquals("Adventure in Mordor", result.get(1).getTitle());
+        assertEquals("technology", filter.category());
+    }
+
+    @Test
+    void shouldVersionPageByIdsWithoutLoadingArticles() {
+        List<ArticleSummaryDTO> articles = List.of(
+                new ArticleSummaryDTO(2L, "ZOO TV", "Penguins Found on Madagascar", "https://example.com/2", null, null),
+                new ArticleSummaryDTO(1L, "ZOO TV", "Penguins Invade Middle-Earth", "https://example.com/1", null, null));
+
+        when(articleRepository.findArticleIds(ArticleFilterDTO.NONE, null, 0, 2)).thenReturn(List.of(2L, 1L));
+
+        String version = newsService.getNewsVersion(2, 0, ArticleFilterDTO.NONE);
+
+        assertEquals(NewsService.version(articles), version);
+        assertNotEquals(NewsService.version(articles.subList(0, 1)), version);
+        verify(articleRepository, never()).findArticleSummaries(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void shouldReturnWholeArticleById() {
+        Article article = createSampleArticles().get(0);
+
+        when(articleRepository.findById(42L)).thenReturn(Optional.of(article));
+
+        assertEquals(Optional.of(article), newsService.getArticle(42L));
+        assertTrue(newsService.getArticle(7L).isEmpty());
+    }
+
+    @Test
+    void shouldSearchNewsAfterCursor() {
+        ArticleSearchCursor cursor = new ArticleSearchCursor(0.6f, 42L);
+        List<ArticleSearchHit> hits = createSampleArticles().stream()
+                .map(article -> new ArticleSearchHit(article, 0.5f))
+                .toList();
+
+        when(articleRepository.searchArticles("penguins", cursor, 2)).thenReturn(hits);
+
+        List<ArticleSearchHit> result = newsService.searchNews("  penguins ", 2, cursor);
+
+        assertEquals(hits, result);
+    }
+
+    @Test
+    void shouldSearchLatestNewsInDatabaseWhenRecentIndexCannotAnswer() {
+        List<Article> articles = createSampleArticles();
+
+        when(articleRepository.searchLatestArticles("penguins", 2)).thenReturn(articles);
+
+        List<Article> result = newsService.searchLatestNews("penguins", 2);
+
+        assertEquals(articles, result);
+    }
+
+    @Test
+    void shouldRejectBlankSearchQuery() {
+        assertThrows(IllegalArgumentException.class, () -> newsService.searchNews(" ", 2, null));
+        verify(articleRepository, never()).searchArticles(any(), any(), anyInt());
+    }
+
+    private List<ArticleSummaryDTO> createSampleSummaries() {
+        return createSampleArticles().stream().map(ArticleSummaryDTO::fromEntity).toList();
     }
 
     private List<Article> createSampleArticles() {
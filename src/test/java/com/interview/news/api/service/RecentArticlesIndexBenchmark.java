@@ -0,0 +1,118 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares "latest articles matching these words" answered by {@link RecentArticlesIndex} with the Postgres full-text path.
+ * Run the main method from the test classpath. The Postgres benchmark only runs when -Dnews.benchmark.jdbc-url
+ * (and optionally -Dnews.benchmark.jdbc-user / -Dnews.benchmark.jdbc-password) points at a migrated database,
+ * ideally seeded with the same synthetic articles, e.g. by ArticleSearchBenchmarkTest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecentArticlesIndexBenchmark {
+
+    private static final String JDBC_URL_PROPERTY = "news.benchmark.jdbc-url";
+    private static final String[] TOPICS = {"markets", "football", "elections", "climate", "technology"};
+
+    @State(Scope.Benchmark)
+    public static class InMemoryIndex {
+        @Param({"10000"})
+        int articles;
+
+        RecentArticlesIndex index;
+
+        @Setup
+        public void setUp() {
+            index = new RecentArticlesIndex(null, articles, Duration.ofDays(3650));
+            index.rebuild(syntheticArticlesNewestFirst(articles));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Postgres {
+        ArticleRepositoryImpl articleRepository;
+
+        @Setup
+        public void setUp() {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(System.getProperty(JDBC_URL_PROPERTY),
+                    System.getProperty("news.benchmark.jdbc-user", "myuser"),
+                    System.getProperty("news.benchmark.jdbc-password", "secret"));
+            articleRepository = new ArticleRepositoryImpl(new JdbcTemplate(dataSource), null, 500, 500);
+        }
+    }
+
+    @Benchmark
+    public List<Article> singleTermInMemory(InMemoryIndex state) {
+        return state.index.search("climate", 10).orElseThrow();
+    }
+
+    @Benchmark
+    public List<Article> rareConjunctionInMemory(InMemoryIndex state) {
+        return state.index.search("climate penguins", 10).orElseThrow();
+    }
+
+    @Benchmark
+    public List<Article> singleTermPostgres(Postgres state) {
+        return state.articleRepository.searchLatestArticles("climate", 10);
+    }
+
+    @Benchmark
+    public List<Article> rareConjunctionPostgres(Postgres state) {
+        return state.articleRepository.searchLatestArticles("climate penguins", 10);
+    }
+
+    static List<Article> syntheticArticlesNewestFirst(int count) {
+        List<Article> articles = new ArrayList<>(count);
+        Instant newest = Instant.now();
+        for (int i = count; i >= 1; i--) {
+            Article article = new Article();
+            article.setId((long) i);
+            article.setTitle("Headline " + i + " on " + TOPICS[i % TOPICS.length]);
+            article.setDescription("Description of story " + Integer.toHexString(i * 31));
+            article.setContent("Body " + Integer.toHexString(i * 7) + (i % 100 == 3 ? " penguins waddle" : ""));
+            article.setPublishedAt(newest.minusSeconds(count - i));
+            articles.add(article);
+        }
+        return articles;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = RecentArticlesIndexBenchmark.class.getSimpleName()
+                + (System.getProperty(JDBC_URL_PROPERTY) != null ? "" : ".*InMemory");
+        String[] forwardedProperties = System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("news.benchmark."))
+                .map(name -> "-D" + name + "=" + System.getProperty(name))
+                .toArray(String[]::new);
+        new Runner(new OptionsBuilder()
+                .include(include)
+                .jvmArgsAppend(forwardedProperties)
+                .build()).run();
+    }
+}
@@ -0,0 +1,183 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class RecentArticlesIndexTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    private RecentArticlesIndex index;
+
+    private final Instant publishedAt = Instant.now();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        index = new RecentArticlesIndex(articleRepository, 3, Duration.ofDays(7));
+    }
+
+    @Test
+    void shouldNotAnswerBeforeWarmUp() {
+        index.onArticlesIngested(new ArticlesIngestedEvent(List.of(article(1, "Penguins invade the Shire"))));
+
+        assertTrue(index.search("penguins", 1).isEmpty());
+    }
+
+    @Test
+    void shouldReturnNewestArticlesContainingEveryWord() {
+        when(articleRepository.findArticlesWithLimitAndOffset(4, 0)).thenReturn(List.of(
+                article(2, "Emperor penguins march"), article(1, "Penguins invade the Shire")));
+        index.warmUp();
+
+        index.onArticlesIngested(new ArticlesIngestedEvent(List.of(article(3, "Penguins return to the Shire"))));
+
+        assertEquals(List.of(3L, 1L), ids(index.search("shire PENGUINS", 10).orElseThrow()));
+        assertEquals(List.of(3L), ids(index.search("penguins", 1).orElseThrow()));
+        assertEquals(List.of(), ids(index.search("dragons", 10).orElseThrow()));
+    }
+
+    @Test
+    void shouldEvictOldestArticlesAndDeferPartialAnswersToDatabase() {
+        when(articleRepository.findArticlesWithLimitAndOffset(4, 0)).thenReturn(List.of(
+                article(2, "Penguins march"), article(1, "Penguins invade")));
+        index.warmUp();
+
+        index.onArticlesIngested(new ArticlesIngestedEvent(List.of(article(3, "Penguins return"), article(4, "Penguins leave"))));
+
+        assertEquals(3, index.size());
+        assertEquals(List.of(4L, 3L), ids(index.search("penguins", 2).orElseThrow()));
+        assertTrue(index.search("penguins", 4).isEmpty());
+        assertTrue(index.search("invade", 1).isEmpty());
+    }
+
+    @Test
+    void shouldStopAnsweringWhileChangeFeedIsDisconnectedAndRebuildOnReconnect() {
+        when(articleRepository.findArticlesWithLimitAndOffset(4, 0)).thenReturn(List.of(article(1, "Penguins invade")));
+        index.onFeedStatusChanged(new ArticleFeedStatusEvent(true));
+        assertEquals(List.of(1L), ids(index.search("penguins", 10).orElseThrow()));
+
+        index.onFeedStatusChanged(new ArticleFeedStatusEvent(false));
+        assertTrue(index.search("penguins", 10).isEmpty());
+
+        when(articleRepository.findArticlesWithLimitAndOffset(4, 0)).thenReturn(List.of(
+                article(2, "Penguins march"), article(1, "Penguins invade")));
+        index.onFeedStatusChanged(new ArticleFeedStatusEvent(true));
+        assertEquals(List.of(2L, 1L), ids(index.search("penguins", 10).orElseThrow()));
+    }
+
+    @Test
+    void shouldDropArticlesOlderThanMaxAge() {
+        Article expired = article(1, "Penguins invade");
+        expired.setPublishedAt(Instant.now().minus(Duration.ofDays(8)));
+        when(articleRepository.findArticlesWithLimitAndOffset(4, 0)).thenReturn(List.of(article(2, "Penguins march"), expired));
+
+        index.warmUp();
+
+        assertEquals(List.of(2L), ids(index.search("penguins", 1).orElseThrow()));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void shouldOrderHitsByPublicationTimeLikeTheDatabase() {
+        Instant now = Instant.now();
+        index.rebuild(List.of());
+
+        index.onArticlesIngested(new ArticlesIngestedEvent(List.of(
+                article(1, "Penguins march", now), article(2, "Penguins invade", now.minusSeconds(60)),
+                article(3, "Penguins return", now))));
+
+        assertEquals(List.of(3L, 1L, 2L), ids(index.search("penguins", 10).orElseThrow()));
+    }
+
+    @Test
+    void shouldRankUndatedArticlesFirstAndLetThemOutliveExpiredOnes() {
+        Instant now = Instant.now();
+        index.rebuild(List.of());
+
+        index.onArticlesIngested(new ArticlesIngestedEvent(List.of(
+                article(1, "Penguins invade", null), article(2, "Penguins march", now.minus(Duration.ofDays(8))),
+                article(3, "Penguins return", now))));
+
+        assertEquals(List.of(1L, 3L), ids(index.search("penguins", 2).orElseThrow()));
+        assertTrue(index.search("penguins", 3).isEmpty());
+        assertTrue(index.search("march", 1).isEmpty());
+    }
+
+    @Test
+    void shouldDeferToDatabaseWhenAnEvictedArticleIsNewerThanTheLastHit() {
+        Instant now = Instant.now();
+        index.rebuild(List.of());
+
+        index.onArticlesIngested(new ArticlesIngestedEvent(List.of(
+                article(1, "Penguins march", now), article(2, "Penguins invade", now.minusSeconds(120)),
+                article(3, "Penguins return", now.minusSeconds(60)), article(4, "Penguins leave", now.minusSeconds(30)))));
+
+        assertEquals(3, index.size());
+        assertTrue(index.search("penguins", 1).isEmpty());
+    }
+
+    @Test
+    void shouldMatchWordsByTheirEnglishStemSkippingStopwords() {
+        index.rebuild(List.of(article(1, "The penguin was running to the councils")));
+
+        assertEquals(List.of(1L), ids(index.search("Penguins RUNS council", 10).orElseThrow()));
+        assertEquals(List.of(1L), ids(index.search("the penguins", 10).orElseThrow()));
+        assertTrue(index.search("the was", 10).isEmpty());
+    }
+
+    @Test
+    void shouldLeaveQueriesWithSpecialTokensToDatabase() {
+        index.rebuild(List.of(article(1, "Covid-19 report on example.com")));
+
+        assertTrue(index.search("covid-19", 10).isEmpty());
+        assertTrue(index.search("example.com", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("covid", 10).orElseThrow()));
+        assertEquals(List.of(), ids(index.search("example", 10).orElseThrow()));
+    }
+
+    @Test
+    void shouldIntersectLongPostingListsAcrossManyEvictions() {
+        RecentArticlesIndex largeIndex = new RecentArticlesIndex(articleRepository, 1000, Duration.ofDays(7));
+        largeIndex.rebuild(List.of());
+        List<Article> ingested = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            String title = "story" + (id % 3 == 0 ? " fizz" : "") + (id % 5 == 0 ? " buzz" : "");
+            ingested.add(article(id, title));
+        }
+        largeIndex.onArticlesIngested(new ArticlesIngestedEvent(ingested));
+
+        assertEquals(List.of(4995L, 4980L, 4965L), ids(largeIndex.search("buzz fizz story", 3).orElseThrow()));
+        assertEquals(1000, largeIndex.size());
+    }
+
+    private Article article(long id, String title) {
+        return article(id, title, publishedAt);
+    }
+
+    private Article article(long id, String title, Instant publishedAt) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setPublishedAt(publishedAt);
+        return article;
+    }
+
+    private List<Long> ids(List<Article> articles) {
+        return articles.stream().map(Article::getId).toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.dto.ArticleFilterDTO;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
+import com.interview.news.domain.model.entity.Article;
+import com.interview.news.persistance.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+class RecentArticlesWindowTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    private RecentArticlesWindow window;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        window = new RecentArticlesWindow(articleRepository, 3);
+    }
+
+    @Test
+    void shouldNotServePagesBeforeWarmUp() {
+        window.onArticlesIngested(new ArticlesIngestedEvent(List.of(article(1, "2024-10-24T10:00:00Z"))));
+
+        assertTrue(window.page(1, 0).isEmpty());
+    }
+
+    @Test
+    void shouldServePagesInsideWindowInNewestFirstOrder() {
+        when(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 3)).thenReturn(summaries(
+                article(3, "2024-10-24T12:00:00Z"), article(2, "2024-10-24T11:00:00Z"), article(1, "2024-10-24T10:00:00Z")));
+        window.warmUp();
+
+        window.onArticlesIngested(new ArticlesIngestedEvent(List.of(article(5, null), article(4, "2024-10-24T11:30:00Z"))));
+
+        assertEquals(List.of(5L, 3L), ids(window.page(2, 0).orElseThrow()));
+        assertEquals(List.of(4L), ids(window.page(1, 2).orElseThrow()));
+        assertTrue(window.page(2, 2).isEmpty());
+    }
+
+    @Test
+    void shouldServeAnyPageWhenWindowHoldsWholeTable() {
+        when(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 3)).thenReturn(summaries(article(1, "2024-10-24T10:00:00Z")));
+        window.warmUp();
+
+        window.onArticlesIngested(new ArticlesIngestedEvent(List.of(article(1, "2024-10-24T10:00:00Z"))));
+
+        assertEquals(List.of(1L), ids(window.page(10, 0).orElseThrow()));
+        assertEquals(List.of(), ids(window.page(10, 10).orElseThrow()));
+    }
+
+    @Test
+    void shouldStopServingWhileChangeFeedIsDisconnectedAndRewarmOnReconnect() {
+        when(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 3)).thenReturn(summaries(article(1, "2024-10-24T10:00:00Z")));
+        window.onFeedStatusChanged(new ArticleFeedStatusEvent(true));
+        assertEquals(List.of(1L), ids(window.page(1, 0).orElseThrow()));
+
+        window.onFeedStatusChanged(new ArticleFeedStatusEvent(false));
+        window.onArticlesIngested(new ArticlesIngestedEvent(List.of(article(2, "2024-10-24T11:00:00Z"))));
+        assertTrue(window.page(1, 0).isEmpty());
+
+        when(articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 3)).thenReturn(summaries(
+                article(3, "2024-10-24T12:00:00Z"), article(2, "2024-10-24T11:00:00Z"), article(1, "2024-10-24T10:00:00Z")));
+        window.onFeedStatusChanged(new ArticleFeedStatusEvent(true));
+        assertEquals(List.of(3L, 2L, 1L), ids(window.page(3, 0).orElseThrow()));
+    }
+
+    private static List<Long> ids(List<ArticleSummaryDTO> articles) {
+        return articles.stream().map(ArticleSummaryDTO::id).toList();
+    }
+
+    private static List<ArticleSummaryDTO> summaries(Article... articles) {
+        return Arrays.stream(articles).map(ArticleSummaryDTO::fromEntity).toList();
+    }
+
+    private static Article article(long id, String publishedAt) {
+        Article article = new Article();
+        article.setId(id);
+        article.setUrl("https://example.com/" + id);
+        article.setPublishedAt(publishedAt != null ? Instant.parse(publishedAt) : null);
+        return article;
+    }
+}
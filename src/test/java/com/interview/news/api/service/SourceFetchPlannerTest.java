@@ -0,0 +1,108 @@
+package com.interview.news.api.service;
+
+import com.interview.news.api.exception.ExternalSourcesTooManyException;
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleKey;
+import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import com.interview.news.domain.model.dto.SourceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SourceFetchPlannerTest {
+
+    private static final Predicate<ArticleKey> ACCEPT_ALL = articleKey -> true;
+
+    @Mock
+    private NewsExternalServiceIntegration newsExternalServiceIntegration;
+
+    private SourceFetchPlanner sourceFetchPlanner;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sourceFetchPlanner = new SourceFetchPlanner(newsExternalServiceIntegration, 20);
+    }
+
+    @Test
+    void shouldPackSourcesIntoMaximalBatches() {
+        List<String> sourceIds = new ArrayList<>();
+        for (int i = 1; i <= 45; i++) {
+            sourceIds.add("source-" + i);
+        }
+        sourceIds.add("source-1");
+
+        List<List<String>> batches = sourceFetchPlanner.plan(sourceIds);
+
+        assertEquals(List.of(20, 20, 5), batches.stream().map(List::size).toList());
+        assertEquals("source-21", batches.get(1).get(0));
+    }
+
+    @Test
+    void shouldSplitResponseBackPerSource() {
+        mockStreamedArticles("zoo-tv,shire-times,gondor-gazette",
+                createArticle("zoo-tv", "https://example.com/1"),
+                createArticle("shire-times", "https://example.com/2"),
+                createArticle("zoo-tv", "https://example.com/3"));
+
+        Map<String, List<ArticleDTO>> articlesBySource = sourceFetchPlanner.fetch(List.of("zoo-tv", "shire-times", "gondor-gazette"), ACCEPT_ALL);
+
+        assertEquals(2, articlesBySource.get("zoo-tv").size());
+        assertEquals(1, articlesBySource.get("shire-times").size());
+        assertTrue(articlesBySource.get("gondor-gazette").isEmpty());
+    }
+
+    @Test
+    void shouldHalveBatchWhenUpstreamReportsTooManySources() {
+        doThrow(new ExternalSourcesTooManyException("You have requested too many sources in a single request."))
+                .when(newsExternalServiceIntegration).streamTopHeadlines(eq(new ArticleParamsDTO(null, null, "a,b,c,d")), eq(UpstreamCallPriority.SCHEDULED), any(), any());
+        mockStreamedArticles("a,b", createArticle("a", "https://example.com/a"));
+        mockStreamedArticles("c,d", createArticle("d", "https://example.com/d"));
+
+        Map<String, List<ArticleDTO>> articlesBySource = sourceFetchPlanner.fetch(List.of("a", "b", "c", "d"), ACCEPT_ALL);
+
+        assertEquals(List.of("a", "b", "c", "d"), List.copyOf(articlesBySource.keySet()));
+        assertEquals("https://example.com/a", articlesBySource.get("a").get(0).url());
+        assertEquals("https://example.com/d", articlesBySource.get("d").get(0).url());
+        verify(newsExternalServiceIntegration, times(3)).streamTopHeadlines(any(ArticleParamsDTO.class), eq(UpstreamCallPriority.SCHEDULED), any(), any());
+    }
+
+    @Test
+    void shouldRethrowTooManySourcesForSingleSource() {
+        doThrow(new ExternalSourcesTooManyException("You have requested too many sources in a single request."))
+                .when(newsExternalServiceIntegration).streamTopHeadlines(any(ArticleParamsDTO.class), eq(UpstreamCallPriority.SCHEDULED), any(), any());
+
+        assertThrows(ExternalSourcesTooManyException.class, () -> sourceFetchPlanner.fetch(List.of("a"), ACCEPT_ALL));
+    }
+
+    private void mockStreamedArticles(String sources, ArticleDTO... articles) {
+        doAnswer(invocation -> {
+            Consumer<ArticleDTO> sink = invocation.getArgument(3);
+            List.of(articles).forEach(sink);
+            return null;
+        }).when(newsExternalServiceIntegration).streamTopHeadlines(eq(new ArticleParamsDTO(null, null, sources)), eq(UpstreamCallPriority.SCHEDULED), any(), any());
+    }
+
+    private ArticleDTO createArticle(String sourceId, String url) {
+        return new ArticleDTO(new SourceDTO(sourceId, sourceId.toUpperCase()), "Gandalf", "Title of " + url,
+                "Description", url, null, Instant.parse("2024-10-24T10:00:00Z"), "Content");
+    }
+}
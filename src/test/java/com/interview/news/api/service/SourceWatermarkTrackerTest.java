@@ -0,0 +1,109 @@
+package com.interview.news.api.service;
+
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleKey;
+import com.interview.news.domain.model.dto.SourceDTO;
+import com.interview.news.domain.model.entity.SourceWatermark;
+import com.interview.news.persistance.SourceWatermarkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SourceWatermarkTrackerTest {
+
+    private static final Instant WATERMARK = Instant.parse("2024-10-24T10:00:00Z");
+
+    @Mock
+    private SourceWatermarkRepository sourceWatermarkRepository;
+
+    private SourceWatermarkTracker sourceWatermarkTracker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sourceWatermarkTracker = new SourceWatermarkTracker(sourceWatermarkRepository);
+    }
+
+    @Test
+    void shouldRejectArticlesCoveredByWatermark() {
+        when(sourceWatermarkRepository.findAllById(any())).thenReturn(List.of(createWatermark("zoo-tv", WATERMARK, "https://example.com/seen")));
+
+        Predicate<ArticleKey> unseenFilter = sourceWatermarkTracker.unseenFilter(sourceWatermarkTracker.load(List.of("zoo-tv")));
+
+        assertFalse(unseenFilter.test(new ArticleKey("zoo-tv", "https://example.com/older", WATERMARK.minusSeconds(60))));
+        assertFalse(unseenFilter.test(new ArticleKey("zoo-tv", "https://example.com/seen", WATERMARK)));
+        assertTrue(unseenFilter.test(new ArticleKey("zoo-tv", "https://example.com/same-time", WATERMARK)));
+        assertTrue(unseenFilter.test(new ArticleKey("zoo-tv", "https://example.com/newer", WATERMARK.plusSeconds(60))));
+        assertTrue(unseenFilter.test(new ArticleKey("zoo-tv", "https://example.com/undated", null)));
+        assertTrue(unseenFilter.test(new ArticleKey("shire-times", "https://example.com/other", WATERMARK.minusSeconds(60))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAdvanceWatermarkToNewestArticle() {
+        when(sourceWatermarkRepository.findAllById(any())).thenReturn(List.of(createWatermark("zoo-tv", WATERMARK, "https://example.com/seen")));
+        Map<String, List<ArticleDTO>> unseenArticlesBySource = new LinkedHashMap<>();
+        unseenArticlesBySource.put("zoo-tv", List.of(
+                createArticle("zoo-tv", "https://example.com/newer", WATERMARK.plusSeconds(60)),
+                createArticle("zoo-tv", "https://example.com/newest-1", WATERMARK.plusSeconds(120)),
+                createArticle("zoo-tv", "https://example.com/newest-2", WATERMARK.plusSeconds(120))));
+        unseenArticlesBySource.put("shire-times", List.of(
+                createArticle("shire-times", "https://example.com/first", WATERMARK)));
+        unseenArticlesBySource.put("gondor-gazette", List.of());
+
+        sourceWatermarkTracker.advance(sourceWatermarkTracker.load(unseenArticlesBySource.keySet()), unseenArticlesBySource);
+
+        ArgumentCaptor<List<SourceWatermark>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sourceWatermarkRepository).saveAll(captor.capture());
+        List<SourceWatermark> saved = captor.getValue();
+        assertEquals(2, saved.size());
+        assertEquals(WATERMARK.plusSeconds(120), saved.get(0).getLatestPublishedAt());
+        assertEquals(List.of("https://example.com/newest-1", "https://example.com/newest-2"), saved.get(0).getLatestUrls());
+        assertEquals("shire-times", saved.get(1).getSourceId());
+        assertEquals(List.of("https://example.com/first"), saved.get(1).getLatestUrls());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldExtendUrlsWhenNewArticleSharesWatermarkTime() {
+        when(sourceWatermarkRepository.findAllById(any())).thenReturn(List.of(createWatermark("zoo-tv", WATERMARK, "https://example.com/seen")));
+
+        sourceWatermarkTracker.advance(sourceWatermarkTracker.load(List.of("zoo-tv")), Map.of("zoo-tv", List.of(
+                createArticle("zoo-tv", "https://example.com/same-time", WATERMARK))));
+
+        ArgumentCaptor<List<SourceWatermark>> captor = ArgumentCaptor.forClass(List.class);
+        verify(sourceWatermarkRepository).saveAll(captor.capture());
+        SourceWatermark saved = captor.getValue().get(0);
+        assertEquals(WATERMARK, saved.getLatestPublishedAt());
+        assertEquals(List.of("https://example.com/seen", "https://example.com/same-time"), saved.getLatestUrls());
+    }
+
+    private SourceWatermark createWatermark(String sourceId, Instant latestPublishedAt, String... latestUrls) {
+        SourceWatermark watermark = new SourceWatermark();
+        watermark.setSourceId(sourceId);
+        watermark.setLatestPublishedAt(latestPublishedAt);
+        watermark.setLatestUrls(new ArrayList<>(List.of(latestUrls)));
+        return watermark;
+    }
+
+    private ArticleDTO createArticle(String sourceId, String url, Instant publishedAt) {
+        return new ArticleDTO(new SourceDTO(sourceId, sourceId.toUpperCase()), "King Julian", "Title of " + url,
+                "Description", url, null, publishedAt, "Content");
+    }
+}
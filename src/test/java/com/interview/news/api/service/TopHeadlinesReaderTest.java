@@ -0,0 +1,66 @@
+package com.interview.news.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.interview.news.config.CacheConfig;
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleParamsDTO;
+import com.interview.news.domain.model.dto.SourceDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringJUnitConfig(TopHeadlinesReaderTest.CachingConfig.class)
+class TopHeadlinesReaderTest {
+
+    @MockBean
+    private NewsExternalServiceIntegration newsExternalServiceIntegration;
+
+    @Autowired
+    private TopHeadlinesReader topHeadlinesReader;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void shouldServeRepeatedReadsFromBoundedCache() {
+        ArticleParamsDTO params = new ArticleParamsDTO("us", null, null);
+        List<ArticleDTO> articles = List.of(new ArticleDTO(new SourceDTO("zoo-tv", "ZOO TV"), "King Julian",
+                "Penguins Found on Madagascar", null, "https://some-s3-url/article1", null, Instant.now(), null));
+        when(newsExternalServiceIntegration.fetchTopHeadlines(params)).thenReturn(articles);
+
+        assertEquals(articles, topHeadlinesReader.read(params));
+        assertEquals(articles, topHeadlinesReader.read(params));
+
+        verify(newsExternalServiceIntegration, times(1)).fetchTopHeadlines(params);
+        Cache<Object, Object> nativeCache = ((CaffeineCache) cacheManager.getCache(CacheConfig.TOP_HEADLINES_CACHE)).getNativeCache();
+        assertEquals(1, nativeCache.stats().hitCount());
+        assertEquals(1, nativeCache.stats().missCount());
+        assertEquals(500, nativeCache.policy().eviction().orElseThrow().getMaximum());
+    }
+
+    @Test
+    void shouldNotCreateUndeclaredCaches() {
+        assertNull(cacheManager.getCache("undeclaredCache"));
+    }
+
+    @Configuration
+    @EnableCaching
+    @Import({CacheConfig.class, TopHeadlinesReader.class})
+    static class CachingConfig {
+    }
+}
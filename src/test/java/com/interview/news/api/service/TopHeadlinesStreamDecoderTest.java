@@ -0,0 +1,111 @@
+package com.interview.news.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.news.domain.model.dto.ArticleDTO;
+import com.interview.news.domain.model.dto.ArticleKey;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TopHeadlinesStreamDecoderTest {
+
+    private static final String RESPONSE = """
+            {
+                "status": "ok",
+                "totalResults": 3,
+                "articles": [
+                    {
+                        "source": {"id": "zoo-tv", "name": "ZOO TV"},
+                        "author": "King Julian",
+                        "title": "Penguins Found on Madagascar",
+                        "description": "Breaking news about penguins on the Madagascar",
+                        "url": "https://zoo-tv.com/penguins",
+                        "urlToImage": "https://zoo-tv.com/penguins.jpg",
+                        "publishedAt": "2024-10-24T10:00:00Z",
+                        "content": "Lorem ipsum dolor sit amet.",
+                        "extra": {"nested": [1, 2, 3]}
+                    },
+                    {
+                        "source": {"id": null, "name": "Shire Times"},
+                        "author": null,
+                        "title": "Second Breakfast Rescheduled",
+                        "description": null,
+                        "url": "https://shire-times.com/breakfast",
+                        "urlToImage": null,
+                        "publishedAt": "not a date",
+                        "content": null
+                    },
+                    {
+                        "source": {"id": "zoo-tv", "name": "ZOO TV"},
+                        "title": "Lemurs Found on Madagascar",
+                        "content": "Content placed before the key fields",
+                        "url": "https://zoo-tv.com/lemurs",
+                        "publishedAt": "2024-10-24T11:00:00.123Z"
+                    }
+                ]
+            }
+            """;
+
+    private final TopHeadlinesStreamDecoder decoder = new TopHeadlinesStreamDecoder(new ObjectMapper());
+
+    @Test
+    void shouldDecodeEveryArticleWhenFilterAcceptsAll() throws IOException {
+        List<ArticleDTO> articles = new ArrayList<>();
+
+        TopHeadlinesStreamDecoder.DecodedPage page = decoder.decode(stream(RESPONSE), articleKey -> true, articles::add);
+
+        assertEquals(3, page.articleCount());
+        assertEquals(3, articles.size());
+        ArticleDTO first = articles.get(0);
+        assertEquals("zoo-tv", first.source().id());
+        assertEquals("ZOO TV", first.source().name());
+        assertEquals("King Julian", first.author());
+        assertEquals("Penguins Found on Madagascar", first.title());
+        assertEquals("https://zoo-tv.com/penguins", first.url());
+        assertEquals(Instant.parse("2024-10-24T10:00:00Z"), first.publishedAt());
+        assertEquals("Lorem ipsum dolor sit amet.", first.content());
+        assertNull(articles.get(1).publishedAt());
+        assertNull(articles.get(1).source().id());
+        assertEquals(Instant.parse("2024-10-24T11:00:00.123Z"), articles.get(2).publishedAt());
+    }
+
+    @Test
+    void shouldPassKeyFieldsToFilterAndDropRejectedArticles() throws IOException {
+        List<ArticleKey> offeredKeys = new ArrayList<>();
+        List<ArticleDTO> articles = new ArrayList<>();
+
+        TopHeadlinesStreamDecoder.DecodedPage page = decoder.decode(stream(RESPONSE), articleKey -> {
+            offeredKeys.add(articleKey);
+            return !articleKey.url().contains("penguins");
+        }, articles::add);
+
+        assertEquals(3, page.articleCount());
+        assertEquals(3, page.totalResults());
+        assertEquals(new ArticleKey("zoo-tv", "https://zoo-tv.com/penguins", Instant.parse("2024-10-24T10:00:00Z")), offeredKeys.get(0));
+        assertEquals(List.of("https://shire-times.com/breakfast", "https://zoo-tv.com/lemurs"),
+                articles.stream().map(ArticleDTO::url).toList());
+        assertEquals("Content placed before the key fields", articles.get(1).content());
+    }
+
+    @Test
+    void shouldReturnNothingForResponseWithoutArticles() throws IOException {
+        List<ArticleDTO> articles = new ArrayList<>();
+
+        TopHeadlinesStreamDecoder.DecodedPage page = decoder.decode(stream("{\"status\": \"ok\", \"totalResults\": 0}"), articleKey -> true, articles::add);
+
+        assertEquals(0, page.articleCount());
+        assertEquals(0, articles.size());
+    }
+
+    private ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
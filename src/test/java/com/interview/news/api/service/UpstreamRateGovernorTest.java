@@ -0,0 +1,94 @@
+package com.interview.news.api.service;
+
+import com.interview.news.api.exception.ExternalRateLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.interview.news.api.service.UpstreamCallPriority.ON_DEMAND;
+import static com.interview.news.api.service.UpstreamCallPriority.SCHEDULED;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UpstreamRateGovernorTest {
+
+    private static final String API_KEY = "api-key";
+
+    @Test
+    void shouldRejectCallsBeyondBurstCapacity() {
+        UpstreamRateGovernor governor = governor(3, 0.001, 1000, 0, Duration.ZERO);
+
+        for (int i = 0; i < 3; i++) {
+            assertDoesNotThrow(() -> governor.acquire(API_KEY, SCHEDULED));
+        }
+        assertThrows(ExternalRateLimitExceededException.class, () -> governor.acquire(API_KEY, SCHEDULED));
+    }
+
+    @Test
+    void shouldKeepBucketsPerApiKey() {
+        UpstreamRateGovernor governor = governor(1, 0.001, 1000, 0, Duration.ZERO);
+
+        governor.acquire(API_KEY, SCHEDULED);
+
+        assertDoesNotThrow(() -> governor.acquire("other-api-key", SCHEDULED));
+    }
+
+    @Test
+    void shouldReserveDailyQuotaForOnDemandCalls() {
+        UpstreamRateGovernor governor = governor(10, 10, 5, 2, Duration.ZERO);
+
+        for (int i = 0; i < 3; i++) {
+            governor.acquire(API_KEY, SCHEDULED);
+        }
+
+        assertThrows(ExternalRateLimitExceededException.class, () -> governor.acquire(API_KEY, SCHEDULED));
+        assertDoesNotThrow(() -> governor.acquire(API_KEY, ON_DEMAND));
+        assertDoesNotThrow(() -> governor.acquire(API_KEY, ON_DEMAND));
+        assertThrows(ExternalRateLimitExceededException.class, () -> governor.acquire(API_KEY, ON_DEMAND));
+    }
+
+    @Test
+    void shouldPauseAfterRateLimitError() {
+        UpstreamRateGovernor governor = governor(10, 10, 1000, 0, Duration.ofMillis(200));
+
+        governor.onRateLimited(API_KEY);
+
+        assertThrows(ExternalRateLimitExceededException.class, () -> governor.acquire(API_KEY, SCHEDULED));
+    }
+
+    @Test
+    void shouldServeWaitingOnDemandCallBeforeScheduledOne() throws Exception {
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(() -> 1, 1, 5, 1000, 0, Duration.ZERO,
+                Duration.ofSeconds(2), Duration.ofMillis(250));
+        governor.acquire(API_KEY, SCHEDULED);
+
+        CompletableFuture<Void> onDemand = CompletableFuture.runAsync(() -> governor.acquire(API_KEY, ON_DEMAND));
+        Thread.sleep(20);
+
+        assertThrows(ExternalRateLimitExceededException.class, () -> governor.acquire(API_KEY, SCHEDULED));
+        onDemand.get(2, TimeUnit.SECONDS);
+        assertFalse(onDemand.isCompletedExceptionally());
+    }
+
+    @Test
+    void shouldSpendOnlyItsShareOfTheQuotaInACluster() {
+        AtomicInteger liveNodeCount = new AtomicInteger(3);
+        UpstreamRateGovernor governor = new UpstreamRateGovernor(liveNodeCount::get, 6, 0.001, 1000, 0, Duration.ZERO,
+                Duration.ZERO, Duration.ZERO);
+
+        for (int i = 0; i < 2; i++) {
+            assertDoesNotThrow(() -> governor.acquire(API_KEY, SCHEDULED));
+        }
+        assertThrows(ExternalRateLimitExceededException.class, () -> governor.acquire(API_KEY, SCHEDULED));
+    }
+
+    private UpstreamRateGovernor governor(int burstCapacity, double requestsPerSecond, int requestsPerDay,
+                                          int onDemandReserve, Duration coolDown) {
+        return new UpstreamRateGovernor(() -> 1, burstCapacity, requestsPerSecond, requestsPerDay, onDemandReserve, coolDown,
+                Duration.ZERO, Duration.ZERO);
+    }
+}
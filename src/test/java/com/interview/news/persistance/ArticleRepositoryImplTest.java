@@ -0,0 +1,150 @@
+package com.interview.news.persistance;
+
+import com.interview.news.domain.model.entity.Article;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ArticleRepositoryImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ArticleRepositoryImpl articleRepositoryImpl;
+
+    private int returnedRows;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        articleRepositoryImpl = new ArticleRepositoryImpl(jdbcTemplate, entityManager, 100, 500);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldInsertArticlesInOneRoundTripPerChunk() throws SQLException {
+        List<Article> articles = createArticles(250);
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> returnEveryRow(invocation.getArgument(0), invocation.getArgument(2)));
+
+        List<Article> insertedArticles = articleRepositoryImpl.insertIfAbsent(articles);
+
+        // 250 articles used to be 250 single-row INSERTs, now they are 3 multi-row statements
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).query(sqlCaptor.capture(), any(PreparedStatementSetter.class), any(RowMapper.class));
+        assertEquals(List.of(100, 100, 50), sqlCaptor.getAllValues().stream().map(this::countRows).toList());
+        assertEquals(250, insertedArticles.size());
+        assertEquals(1L, insertedArticles.get(0).getId());
+        assertEquals(250L, insertedArticles.get(249).getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReturnOnlyArticlesReportedAsInserted() {
+        List<Article> articles = createArticles(3);
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> rowMapper = invocation.getArgument(2);
+                    return List.of(rowMapper.mapRow(mockRow(7L, "https://example.com/article2"), 0));
+                });
+
+        List<Article> insertedArticles = articleRepositoryImpl.insertIfAbsent(articles);
+
+        assertEquals(1, insertedArticles.size());
+        assertEquals("https://example.com/article2", insertedArticles.get(0).getUrl());
+        assertEquals(7L, insertedArticles.get(0).getId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldMatchGeneratedIdsByUrlWhateverTheReturningOrder() {
+        List<Article> articles = createArticles(3);
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> rowMapper = invocation.getArgument(2);
+                    return List.of(
+                            rowMapper.mapRow(mockRow(30L, "https://example.com/article3"), 0),
+                            rowMapper.mapRow(mockRow(10L, "https://example.com/article1"), 1));
+                });
+
+        List<Article> insertedArticles = articleRepositoryImpl.insertIfAbsent(articles);
+
+        assertEquals(2, insertedArticles.size());
+        assertEquals(10L, articles.get(0).getId());
+        assertNull(articles.get(1).getId());
+        assertEquals(30L, articles.get(2).getId());
+    }
+
+    @Test
+    void shouldRejectBatchSizeBeyondBindParameterLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new ArticleRepositoryImpl(jdbcTemplate, entityManager, 8192, 500));
+    }
+
+    @Test
+    void shouldSkipDatabaseForEmptyInput() {
+        assertTrue(articleRepositoryImpl.insertIfAbsent(List.of()).isEmpty());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private List<Object> returnEveryRow(String sql, RowMapper<Object> rowMapper) throws SQLException {
+        int offset = returnedRows;
+        int rows = countRows(sql);
+        List<Object> result = new ArrayList<>();
+        for (int i = 1; i <= rows; i++) {
+            result.add(rowMapper.mapRow(mockRow(offset + i, "https://example.com/article" + (offset + i)), i - 1));
+        }
+        returnedRows += rows;
+        return result;
+    }
+
+    private int countRows(String sql) {
+        return sql.split("\\(\\?, \\?, \\?, \\?, \\?, \\?, \\?, \\?\\)", -1).length - 1;
+    }
+
+    private ResultSet mockRow(long id, String url) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(id);
+        when(resultSet.getString("url")).thenReturn(url);
+        return resultSet;
+    }
+
+    private List<Article> createArticles(int count) {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Article article = new Article();
+            article.setSourceName("Source " + i);
+            article.setTitle("Article Title " + i);
+            article.setUrl("https://example.com/article" + i);
+            article.setPublishedAt(Instant.parse("2024-10-24T10:00:00Z").plusSeconds(i));
+            articles.add(article);
+        }
+        return articles;
+    }
+}
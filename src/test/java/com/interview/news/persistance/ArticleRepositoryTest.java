@@ -1,16 +1,29 @@
 package com.interview.news.persistance;
 
 import com.interview.news.BaseDatabaseTest;
+import com.interview.news.domain.model.dto.ArticleCursor;
+import com.interview.news.domain.model.dto.ArticleFilterDTO;
+import com.interview.news.domain.model.dto.ArticleSearchCursor;
+import com.interview.news.domain.model.dto.ArticleSearchHit;
+import com.interview.news.domain.model.dto.ArticleSummaryDTO;
 import com.interview.news.domain.model.entity.Article;
+import com.interview.news.domain.model.entity.Source;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,9 +35,23 @@ class ArticleRepositoryTest extends BaseDatabaseTest {
     @Autowired
     private ArticleRepository articleRepository;
 
+    @Autowired
+    private SourceRepository sourceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     @AfterEach
     void cleanUp() {
         articleRepository.deleteAll();
+        sourceRepository.deleteAll();
     }
 
     @Test
@@ -45,22 +72,156 @@ class ArticleRepositoryTest extends BaseDatabaseTest {
     }
 
     @Test
-    void shouldReturnAllArticleUrls() {
+    void shouldInsertOnlyArticlesWithUnknownUrls() {
+        // Given
+        articleRepository.save(createTestData("https://some-s3-url/article1"));
+
+        Article duplicate = createTestData("https://some-s3-url/article1");
+        Article fresh = createTestData("https://some-s3-url/article2");
+
+        // When
+        List<Article> insertedArticles = articleRepository.insertIfAbsent(List.of(duplicate, fresh));
+
+        // Then
+        assertEquals(1, insertedArticles.size());
+        assertEquals("https://some-s3-url/article2", insertedArticles.get(0).getUrl());
+        assertNotNull(insertedArticles.get(0).getId());
+        assertEquals(2, articleRepository.count());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldStreamArticlesInRangeOldestFirst() {
+        // Given
+        Article older = createTestData("https://some-s3-url/article1", Instant.parse("2024-10-24T10:00:00Z"));
+        Article newer = createTestData("https://some-s3-url/article2", Instant.parse("2024-10-24T11:00:00Z"));
+        Article outOfRange = createTestData("https://some-s3-url/article3", Instant.parse("2024-10-24T12:00:00Z"));
+        Article otherSource = createTestData("https://some-s3-url/article4", Instant.parse("2024-10-24T10:30:00Z"));
+        otherSource.setSourceName("Middle-Earth Chronicle");
+        articleRepository.saveAll(List.of(newer, outOfRange, older, otherSource));
+
+        // When
+        List<String> streamedUrls = transactionTemplate.execute(status -> {
+            try (Stream<Article> articles = articleRepository.streamArticles(
+                    Instant.parse("2024-10-24T10:00:00Z"), Instant.parse("2024-10-24T12:00:00Z"), "ZOO TV")) {
+                return articles.map(Article::getUrl).toList();
+            }
+        });
+
+        // Then
+        assertEquals(List.of("https://some-s3-url/article1", "https://some-s3-url/article2"), streamedUrls);
+    }
+
+    @Test
+    void shouldRankTitleMatchesFirstAndContinueFromCursor() {
+        // Given
+        Article inTitle = createTestData("https://some-s3-url/article1");
+        inTitle.setTitle("Emperor penguins return");
+        Article inDescription = createTestData("https://some-s3-url/article2");
+        inDescription.setDescription("Sightings of penguins near the zoo");
+        Article unrelated = createTestData("https://some-s3-url/article3");
+        articleRepository.saveAll(List.of(inDescription, unrelated, inTitle));
+        articleRepository.flush();
+
+        // When
+        List<ArticleSearchHit> firstPage = articleRepository.searchArticles("penguin", null, 1);
+        List<ArticleSearchHit> secondPage = articleRepository.searchArticles("penguin",
+                ArticleSearchCursor.fromHit(firstPage.get(0)), 10);
+
+        // Then
+        assertEquals(List.of("https://some-s3-url/article1"), firstPage.stream().map(hit -> hit.article().getUrl()).toList());
+        assertEquals(List.of("https://some-s3-url/article2"), secondPage.stream().map(hit -> hit.article().getUrl()).toList());
+        assertTrue(firstPage.get(0).rank() > secondPage.get(0).rank());
+    }
+
+    @Test
+    void shouldPageSummariesFromUndatedToDatedArticlesWithCursor() {
+        // Given
+        Article undated = createTestData("https://some-s3-url/article1", null);
+        Article sameInstantLower = createTestData("https://some-s3-url/article2", Instant.parse("2024-10-24T10:00:00Z"));
+        Article sameInstantHigher = createTestData("https://some-s3-url/article3", Instant.parse("2024-10-24T10:00:00Z"));
+        articleRepository.saveAll(List.of(undated, sameInstantLower, sameInstantHigher));
+
+        // When
+        List<ArticleSummaryDTO> firstPage = articleRepository.findArticleSummaries(ArticleFilterDTO.NONE, null, 0, 2);
+        List<ArticleSummaryDTO> secondPage = articleRepository.findArticleSummaries(ArticleFilterDTO.NONE,
+                ArticleCursor.fromSummary(firstPage.get(1)), 0, 2);
+
+        // Then
+        assertEquals(List.of("https://some-s3-url/article1", "https://some-s3-url/article3"),
+                firstPage.stream().map(ArticleSummaryDTO::url).toList());
+        assertEquals(List.of("https://some-s3-url/article2"), secondPage.stream().map(ArticleSummaryDTO::url).toList());
+        assertEquals("Penguins found on the Madagascar", firstPage.get(0).title());
+    }
+
+    @Test
+    void shouldFilterArticlesBySourceAttributesAndDateRange() {
         // Given
-        Article article1 = createTestData("https://some-s3-url/article1");
-        Article article2 = createTestData("https://some-s3-url/article2");
+        Source zooTv = new Source();
+        zooTv.setSourceId("zoo-tv");
+        zooTv.setName("ZOO TV");
+        zooTv.setCategory("science");
+        zooTv.setCountry("us");
+        sourceRepository.save(zooTv);
+
+        Article oldest = createTestData("https://some-s3-url/article1", Instant.parse("2024-10-24T10:00:00Z"));
+        Article middle = createTestData("https://some-s3-url/article2", Instant.parse("2024-10-24T11:00:00Z"));
+        Article newest = createTestData("https://some-s3-url/article3", Instant.parse("2024-10-24T12:00:00Z"));
+        Article otherSource = createTestData("https://some-s3-url/article4", Instant.parse("2024-10-24T11:30:00Z"));
+        otherSource.setSourceName("Middle-Earth Chronicle");
+        articleRepository.saveAll(List.of(oldest, middle, newest, otherSource));
+        articleRepository.flush();
 
-        articleRepository.save(article1);
-        articleRepository.save(article2);
+        ArticleFilterDTO filter = new ArticleFilterDTO(null, Instant.parse("2024-10-24T10:00:00Z"),
+                Instant.parse("2024-10-24T12:00:00Z"), "science", "us");
 
         // When
-        List<String> articleUrls = articleRepository.findAllUrls();
+        List<ArticleSummaryDTO> firstPage = articleRepository.findArticleSummaries(filter, null, 0, 1);
+        List<ArticleSummaryDTO> secondPage = articleRepository.findArticleSummaries(filter, ArticleCursor.fromSummary(firstPage.get(0)), 0, 10);
 
         // Then
-        assertNotNull(articleUrls);
-        assertEquals(2, articleUrls.size());
-        assertTrue(articleUrls.contains("https://some-s3-url/article1"));
-        assertTrue(articleUrls.contains("https://some-s3-url/article2"));
+        assertEquals(List.of("https://some-s3-url/article2"), firstPage.stream().map(ArticleSummaryDTO::url).toList());
+        assertEquals(List.of("https://some-s3-url/article1"), secondPage.stream().map(ArticleSummaryDTO::url).toList());
+        assertTrue(articleRepository.findArticleSummaries(new ArticleFilterDTO(null, null, null, "sports", null), null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void shouldMergeArticlesOfAllSourcesInCategoryInPageOrder() {
+        // Given
+        for (String name : List.of("ZOO TV", "Madagascar Daily")) {
+            Source source = new Source();
+            source.setSourceId(name.toLowerCase().replace(' ', '-'));
+            source.setName(name);
+            source.setCategory("science");
+            sourceRepository.save(source);
+        }
+        List<Article> articles = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            Article article = createTestData("https://some-s3-url/article" + i, Instant.parse("2024-10-24T10:00:00Z").plusSeconds(i * 60L));
+            article.setSourceName(i % 2 == 0 ? "ZOO TV" : "Madagascar Daily");
+            articles.add(article);
+        }
+        articleRepository.saveAll(articles);
+        articleRepository.flush();
+        ArticleFilterDTO filter = new ArticleFilterDTO(null, null, null, "science", null);
+
+        // When
+        List<ArticleSummaryDTO> secondPage = articleRepository.findArticleSummaries(filter, null, 2, 2);
+        List<ArticleSummaryDTO> afterCursor = articleRepository.findArticleSummaries(filter, ArticleCursor.fromSummary(secondPage.get(1)), 0, 10);
+
+        // Then
+        assertEquals(List.of("https://some-s3-url/article4", "https://some-s3-url/article3"),
+                secondPage.stream().map(ArticleSummaryDTO::url).toList());
+        assertEquals("Madagascar Daily", secondPage.get(1).sourceName());
+        assertEquals(List.of("https://some-s3-url/article2", "https://some-s3-url/article1"),
+                afterCursor.stream().map(ArticleSummaryDTO::url).toList());
+        assertEquals(secondPage.stream().map(ArticleSummaryDTO::id).toList(), articleRepository.findArticleIds(filter, null, 2, 2));
+    }
+
+    private Article createTestData(final String url, final Instant publishedAt) {
+        final Article article = createTestData(url);
+        article.setPublishedAt(publishedAt);
+        return article;
     }
 
     private Article createTestData(final String url) {
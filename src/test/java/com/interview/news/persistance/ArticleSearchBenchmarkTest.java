@@ -0,0 +1,87 @@
+package com.interview.news.persistance;
+
+import com.interview.news.BaseDatabaseTest;
+import com.interview.news.domain.model.dto.ArticleSearchHit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Searches a synthetic 1M article table and checks the plan goes through the GIN index instead of a sequential scan.
+ * Loading the data takes a while, so it only runs with -Dnews.search.benchmark=true.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "news.search.benchmark", matches = "true")
+class ArticleSearchBenchmarkTest extends BaseDatabaseTest {
+    private static final Logger LOGGER = Logger.getLogger(ArticleSearchBenchmarkTest.class.getName());
+    private static final int ARTICLES = 1_000_000;
+    private static final int RARE_TERM_EVERY = 10_000;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void loadSyntheticArticles() {
+        jdbcTemplate.update("""
+                INSERT INTO article (source_name, author, title, description, url, published_at, content)
+                SELECT 'Source ' || (g % 50),
+                       'Author ' || (g % 1000),
+                       'Headline ' || g || ' on ' || (ARRAY['markets', 'football', 'elections', 'climate', 'technology'])[1 + g % 5],
+                       'Description of story ' || md5(g::text),
+                       'https://example.com/benchmark/' || g,
+                       timestamp '2024-01-01' + g * interval '1 minute',
+                       'Body ' || md5((g * 7)::text) || CASE WHEN g % ? = 0 THEN ' penguins waddle' ELSE '' END
+                FROM generate_series(1, ?) AS g
+                """, RARE_TERM_EVERY, ARTICLES);
+        jdbcTemplate.execute("ANALYZE article");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE article");
+    }
+
+    @Test
+    void shouldSearchThroughGinIndex() {
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN ANALYZE SELECT id FROM article
+                WHERE search_vector @@ websearch_to_tsquery('english', 'penguins')
+                """, String.class));
+        LOGGER.info(() -> "Full-text search plan:\n" + plan);
+        assertTrue(plan.contains("idx_article_search_vector"), "Search should use the GIN index");
+
+        long start = System.nanoTime();
+        List<ArticleSearchHit> hits = articleRepository.searchArticles("penguins", null, 20);
+        long searchMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        Integer likeMatches = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM article WHERE content ILIKE '%penguins%'", Integer.class);
+        long likeMillis = (System.nanoTime() - start) / 1_000_000;
+
+        LOGGER.info(() -> "Ranked search over " + ARTICLES + " articles took " + searchMillis
+                + " ms, ILIKE scan took " + likeMillis + " ms");
+        assertEquals(20, hits.size());
+        assertEquals(ARTICLES / RARE_TERM_EVERY, likeMatches);
+    }
+}
@@ -0,0 +1,52 @@
+package com.interview.news.persistance;
+
+import com.interview.news.BaseDatabaseTest;
+import com.interview.news.domain.model.entity.Source;
+import com.interview.news.domain.model.entity.SourceWatermark;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SourceWatermarkRepositoryTest extends BaseDatabaseTest {
+
+    @Autowired
+    private SourceRepository sourceRepository;
+
+    @Autowired
+    private SourceWatermarkRepository sourceWatermarkRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Test
+    void shouldSaveWatermarkWithLatestUrls() {
+        Source source = new Source();
+        source.setSourceId("zoo-tv");
+        source.setName("ZOO TV");
+        sourceRepository.save(source);
+
+        SourceWatermark watermark = new SourceWatermark();
+        watermark.setSourceId("zoo-tv");
+        watermark.setLatestPublishedAt(Instant.parse("2024-10-24T10:00:00Z"));
+        watermark.setLatestUrls(List.of("https://zoo-tv.com/penguins", "https://zoo-tv.com/lemurs"));
+        sourceWatermarkRepository.save(watermark);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        SourceWatermark savedWatermark = sourceWatermarkRepository.findById("zoo-tv").orElseThrow();
+
+        assertEquals(Instant.parse("2024-10-24T10:00:00Z"), savedWatermark.getLatestPublishedAt());
+        assertEquals(List.of("https://zoo-tv.com/penguins", "https://zoo-tv.com/lemurs"), savedWatermark.getLatestUrls());
+    }
+}